@@ -0,0 +1,18 @@
+package puzzle;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result reports its allocation rate next to ops/s.
+ * Any JMH command line option works as usual, for example a regular expression to select benchmarks or -rf json.
+ * 
+ * Usage: mvn -B package && java -jar benchmarks/target/benchmarks.jar [JMH options]
+ */
+public class BenchmarkMain {
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+	}
+}
@@ -0,0 +1,131 @@
+package puzzle;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Board primitives every search spends its time in. Each invocation works on the next board of the
+ * corpus, so the branch predictor can not learn a single board.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+	// the length of the shortest solutions of the corpus, or uniform for boards of every length
+	@Param({ "5", "20", "uniform" })
+	public String difficulty;
+
+	private Board[] boards;
+	// copies of the boards that keep their linear conflicts and walking distance tables up to date
+	private Board[] tracked;
+	private String[] moves;
+	private int[] codes;
+	private int next;
+
+	/**
+	 * This method builds the corpus and picks one allowed move for every board.
+	 */
+	@Setup
+	public void setup() {
+		boards = Corpus.boards(difficulty);
+		tracked = new Board[boards.length];
+		moves = new String[boards.length];
+		codes = new int[boards.length];
+		SplittableRandom rng = new SplittableRandom(Corpus.seed);
+		for (int i = 0; i < boards.length; i++) {
+			List<String> allowed = boards[i].find_allowed_moves();
+			moves[i] = allowed.get(rng.nextInt(allowed.size()));
+			codes[i] = Direction.of(moves[i]).code();
+			tracked[i] = boards[i].copy();
+			tracked[i].find_lc();
+			tracked[i].find_wd();
+		}
+	}
+
+	/**
+	 * This method gets the index of the board for the next invocation.
+	 * 
+	 * @return The index.
+	 */
+	private int next() {
+		next = (next + 1) & (Corpus.size - 1);
+		return next;
+	}
+
+	@Benchmark
+	public Object move() {
+		int i = next();
+		return boards[i].move(moves[i]);
+	}
+
+	@Benchmark
+	public Object move_tracked() {
+		int i = next();
+		return tracked[i].move(moves[i]);
+	}
+
+	@Benchmark
+	public Object move_code() {
+		int i = next();
+		return boards[i].move(codes[i]);
+	}
+
+	@Benchmark
+	public List<String> find_allowed_moves() {
+		return boards[next()].find_allowed_moves();
+	}
+
+	@Benchmark
+	public byte[] successors() {
+		return boards[next()].successors();
+	}
+
+	@Benchmark
+	public int find_h1() {
+		Board board = boards[next()];
+		board.find_h1();
+		return board.get_h();
+	}
+
+	@Benchmark
+	public int find_h2() {
+		Board board = boards[next()];
+		board.find_h2();
+		return board.get_h();
+	}
+
+	@Benchmark
+	public int find_lc() {
+		Board board = boards[next()].copy();
+		board.find_lc();
+		return board.get_h();
+	}
+
+	@Benchmark
+	public int find_wd() {
+		Board board = boards[next()].copy();
+		board.find_wd();
+		return board.get_h();
+	}
+
+	@Benchmark
+	public boolean isGoal() {
+		return boards[next()].isGoal();
+	}
+}
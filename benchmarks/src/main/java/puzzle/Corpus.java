@@ -0,0 +1,39 @@
+package puzzle;
+
+import java.util.SplittableRandom;
+
+/**
+ * The fixed boards every benchmark runs on. A difficulty level is either an exact number of moves from the 3x3 goal or
+ * "uniform" for boards drawn uniformly from every solvable state. The boards come from StateGenerator with a seeded
+ * SplittableRandom, so every run and every machine measures the same boards.
+ */
+final class Corpus {
+	static final long seed = 12345;
+	static final int size = 256;
+	static final String uniform = "uniform";
+
+	/**
+	 * This constructor is private since the corpus only has static methods.
+	 */
+	private Corpus() {
+		// intentionally left blank.
+	}
+
+	/**
+	 * This method builds the boards of one difficulty level.
+	 * 
+	 * @param level The length of the shortest solution of every board, up to 31, or "uniform".
+	 * 
+	 * @return The boards, as root boards with g(n) = 0.
+	 */
+	static Board[] boards(String level) {
+		boolean uniformly = uniform.equals(level);
+		int distance = uniformly ? -1 : Integer.parseInt(level);
+		SplittableRandom rng = new SplittableRandom(seed + distance);
+		Board[] boards = new Board[size];
+		for (int i = 0; i < size; i++) {
+			boards[i] = uniformly ? StateGenerator.uniform(3, rng) : StateGenerator.at_distance(3, distance, rng);
+		}
+		return boards;
+	}
+}
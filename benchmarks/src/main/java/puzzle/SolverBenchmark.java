@@ -0,0 +1,85 @@
+package puzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmarks of the searches. Each invocation solves the next board of the corpus with a quiet Solver, so
+ * console output does not take part in the measurement. A search that reaches the node limit counts as one operation
+ * like any other, which keeps the cost of the hardest boards bounded. The result is returned so JMH consumes it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+	// the length of the shortest solutions of the corpus, or uniform for boards of every length
+	@Param({ "10", "20", "uniform" })
+	public String difficulty;
+
+	@Param({ "100000" })
+	public int max_nodes;
+
+	private Board[] boards;
+	private Solver solver;
+	private int next;
+
+	/**
+	 * This method builds the corpus and the solver.
+	 */
+	@Setup
+	public void setup() {
+		boards = Corpus.boards(difficulty);
+		solver = new Solver();
+		solver.quiet();
+		solver.max_nodes(max_nodes);
+	}
+
+	/**
+	 * This method gets the board for the next invocation.
+	 * 
+	 * @return The board.
+	 */
+	private Board next() {
+		next = (next + 1) & (Corpus.size - 1);
+		return boards[next];
+	}
+
+	@Benchmark
+	public Object astar_h1() {
+		return solver.astar_h1(next());
+	}
+
+	@Benchmark
+	public Object astar_h2() {
+		return solver.astar_h2(next());
+	}
+
+	@Benchmark
+	public Object astar_lc() {
+		return solver.astar_lc(next());
+	}
+
+	@Benchmark
+	public Object astar_wd() {
+		return solver.astar_wd(next());
+	}
+
+	@Benchmark
+	public Object beam() {
+		return solver.beam(next(), 5);
+	}
+}
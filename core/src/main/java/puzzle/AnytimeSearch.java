@@ -0,0 +1,268 @@
+package puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anytime repairing A-star (ARA*). The first solution comes from A-star with every h(n) inflated by a
+ * weight w, which finds a path quickly but only guarantees a cost within w times the optimum. The
+ * weight is then lowered step by step, and each step continues from the previous one instead of
+ * starting over: states whose g(n) improved after they were expanded are kept in INCONS and put back
+ * into OPEN, and only they and their descendants are searched again.
+ * 
+ * The search returns the best solution found when its budget runs out, it is cancelled, or the
+ * solution is proven optimal. The lowest g(n) + h(n) in OPEN and INCONS is a lower bound on the
+ * optimal cost at any time, so the proven bound is the solution cost over it, or w if lower and
+ * the iteration of that weight finished.
+ */
+public class AnytimeSearch {
+	// weights are fixed point with two decimals, so keys are exact integers
+	private static final int scale = 100;
+	private static final int check_interval = 1024;
+
+	private final Heuristic heuristic;
+	private final Budget budget;
+	private final List<Board> nodes = new ArrayList<Board>();
+	private final StateMap index = new StateMap();
+	private final List<Integer> incons = new ArrayList<Integer>();
+	private final HeapOpenList<Board> open = new HeapOpenList<Board>();
+	private int[] closed = new int[1024];
+	private boolean[] in_incons = new boolean[1024];
+	private int iteration = 1;
+	private int weight;
+	private int goal = -1;
+	private Budget.Limit limit;
+	private Board best;
+	private double bound = Double.POSITIVE_INFINITY;
+	private long generated = 0;
+	private long expanded = 0;
+	private long duplicates = 0;
+	private long peak_open = 0;
+
+	/**
+	 * @param heuristic The heuristic used for h(n).
+	 * @param budget The limits over all weights, where the states generated count as stored.
+	 */
+	AnytimeSearch(Heuristic heuristic, Budget budget) {
+		this.heuristic = heuristic;
+		this.budget = budget;
+	}
+
+	/**
+	 * This method runs the search.
+	 * 
+	 * @param board The start board.
+	 * @param initial_weight The first weight, at least 1.
+	 * @param step How much the weight is lowered after each solution, above 0.
+	 * 
+	 * @return The goal board of the best solution, or null if none was found.
+	 */
+	Board solve(Board board, double initial_weight, double step) {
+		if (initial_weight < 1 || step <= 0) {
+			throw new IllegalArgumentException("INVALID WEIGHTS " + initial_weight + ", " + step);
+		}
+		weight = (int) Math.round(initial_weight * scale);
+		int decrement = Math.max(1, (int) Math.round(step * scale));
+		Board start = board.copy();
+		start.find_h(heuristic);
+		best = start;
+		add(start);
+		push(start);
+		generated = 1;
+		while (true) {
+			improve_path();
+			if (goal < 0) {
+				break;
+			}
+			List<Board> frontier = frontier();
+			int min = nodes.get(goal).get_g();
+			for (Board node : frontier) {
+				min = Math.min(min, node.get_g() + node.get_h());
+			}
+			double proven = min == 0 ? 1 : (double) nodes.get(goal).get_g() / min;
+			if (limit != null) {
+				// the weight only bounds an iteration that finished, but OPEN and INCONS bound the optimum at any time
+				bound = Math.max(1, Math.min(bound, proven));
+				break;
+			}
+			bound = Math.min((double) weight / scale, proven);
+			if (bound <= 1 || weight == scale) {
+				// with w = 1 a finished iteration is plain A-star, so the incumbent is optimal
+				bound = 1;
+				break;
+			}
+			weight = Math.max(scale, weight - decrement);
+			iteration++;
+			for (Board node : frontier) {
+				push(node);
+			}
+		}
+		return goal < 0 ? null : nodes.get(goal);
+	}
+
+	/**
+	 * This method computes the key of a board under the current weight, g(n) + w * h(n).
+	 */
+	private long key(Board board) {
+		return (long) board.get_g() * scale + (long) weight * board.get_h();
+	}
+
+	/**
+	 * This method records a new state.
+	 */
+	private void add(Board board) {
+		int i = nodes.size();
+		index.put(board.get_state(), board.get_state_hi(), i);
+		nodes.add(board);
+		if (i >= closed.length) {
+			closed = Arrays.copyOf(closed, closed.length * 2);
+			in_incons = Arrays.copyOf(in_incons, in_incons.length * 2);
+		}
+		if (board.isGoal()) {
+			goal = i;
+		}
+	}
+
+	/**
+	 * This method pushes a board into OPEN. The key is packed into f(n) and h(n) of the open list.
+	 */
+	private void push(Board board) {
+		long key = key(board);
+		open.push(board, (int) (key >>> 16), (int) (key & 0xFFFF));
+		peak_open = Math.max(peak_open, open.size());
+	}
+
+	/**
+	 * This method checks whether a popped board is still the best node of its state and not yet expanded in this iteration.
+	 */
+	private boolean live(Board board) {
+		int i = index.get(board.get_state(), board.get_state_hi());
+		return nodes.get(i) == board && closed[i] != iteration;
+	}
+
+	/**
+	 * This method expands boards in order of their key until no board in OPEN has a lower key than the incumbent.
+	 */
+	private void improve_path() {
+		while (true) {
+			Board node = open.pop();
+			if (node == null) {
+				return;
+			}
+			if (!live(node)) {
+				continue;
+			}
+			if (goal >= 0 && key(node) >= (long) nodes.get(goal).get_g() * scale) {
+				// the incumbent can not be improved with this weight
+				push(node);
+				return;
+			}
+			// the clock is read by expansions too, since the later weights mostly reopen known states
+			if (++expanded % check_interval == 0 && (limit = budget.poll()) != null) {
+				push(node);
+				return;
+			}
+			if (node.get_h() < best.get_h()) {
+				best = node;
+			}
+			int i = index.get(node.get_state(), node.get_state_hi());
+			closed[i] = iteration;
+			for (byte code : node.successors()) {
+				Board child = node.move(code);
+				int j = index.get(child.get_state(), child.get_state_hi());
+				if (j >= 0 && nodes.get(j).get_g() <= child.get_g()) {
+					duplicates++;
+					continue;
+				}
+				child.find_h(heuristic);
+				if (j < 0) {
+					limit = budget.check(++generated, nodes.size());
+					if (limit != null) {
+						// the node goes back into OPEN, since some of its children were never generated
+						closed[i] = 0;
+						push(node);
+						return;
+					}
+					add(child);
+					push(child);
+				} else {
+					nodes.set(j, child);
+					if (j == goal) {
+						continue;
+					}
+					if (closed[j] == iteration) {
+						// expanded with a worse g(n), so it waits for the next weight
+						if (!in_incons[j]) {
+							in_incons[j] = true;
+							incons.add(j);
+						}
+					} else {
+						push(child);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method empties OPEN and INCONS, keeping the best node of every state in either of them.
+	 * 
+	 * @return The boards to search again with the next weight.
+	 */
+	private List<Board> frontier() {
+		List<Board> frontier = new ArrayList<Board>(open.size() + incons.size());
+		Board node;
+		while ((node = open.pop()) != null) {
+			if (live(node)) {
+				frontier.add(node);
+			}
+		}
+		for (int i : incons) {
+			in_incons[i] = false;
+			frontier.add(nodes.get(i));
+		}
+		incons.clear();
+		return frontier;
+	}
+
+	/**
+	 * This method gets the limit the last search ran into.
+	 * 
+	 * @return The limit, or null if the search was not stopped.
+	 */
+	Budget.Limit get_limit() {
+		return limit;
+	}
+
+	/**
+	 * This method gets the board with the lowest h(n) expanded so far.
+	 * 
+	 * @return The board, whose path starts at a copy of the start board.
+	 */
+	Board get_best() {
+		return best;
+	}
+
+	/**
+	 * This method gets the proven bound on the cost of the solution over the optimal cost.
+	 * 
+	 * @return The bound, 1 if the solution is optimal, or infinity if no solution was found.
+	 */
+	double get_bound() {
+		return bound;
+	}
+
+	/**
+	 * This method copies the counters of the last search into a result.
+	 * 
+	 * @param result The result to count into.
+	 */
+	void count(SearchResult result) {
+		result.generated = generated;
+		result.expanded = expanded;
+		result.duplicates = duplicates;
+		result.peak_open = peak_open;
+		result.peak_closed = nodes.size();
+	}
+}
@@ -0,0 +1,130 @@
+package puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent experiment tasks on a fixed pool of threads and collects one result per task.
+ * Each task draws its own board with its own SplittableRandom and solves it with a fresh, quiet
+ * Solver per algorithm, so no state is shared between tasks and the results are the same on any
+ * number of threads.
+ */
+public class BatchRunner {
+	private final int threads;
+
+	/**
+	 * One random board, solved with A-star h1, A-star h2, local beam with k = 5, A-star with linear conflicts
+	 * and A-star with walking distance under a node limit.
+	 */
+	static class Task {
+		final long seed;
+		final int distance;
+		final int max_nodes;
+
+		/**
+		 * @param seed The seed of the task's SplittableRandom.
+		 * @param distance The number of moves in the shortest solution of the board, or -1 for a board drawn
+		 *                 uniformly from every solvable board.
+		 * @param max_nodes The node limit of every search.
+		 */
+		Task(long seed, int distance, int max_nodes) {
+			this.seed = seed;
+			this.distance = distance;
+			this.max_nodes = max_nodes;
+		}
+	}
+
+	/**
+	 * The outcome of a task, indexed in the order A-star h1, A-star h2, beam, A-star lc, A-star wd.
+	 */
+	static class Result {
+		final Task task;
+		final String start;
+		final boolean[] solved = new boolean[5];
+		final long[] times = new long[5];
+
+		/**
+		 * @param task The task.
+		 * @param start The random board that was solved.
+		 */
+		Result(Task task, String start) {
+			this.task = task;
+			this.start = start;
+		}
+	}
+
+	/**
+	 * @param threads The number of worker threads.
+	 */
+	BatchRunner(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * This method runs every task and waits for all of them.
+	 * 
+	 * @param tasks The tasks to run.
+	 * 
+	 * @return The results, in the same order as the tasks.
+	 * @throws InterruptedException
+	 */
+	List<Result> run(List<Task> tasks) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Result>> futures = new ArrayList<Future<Result>>(tasks.size());
+			for (Task task : tasks) {
+				futures.add(pool.submit(() -> solve(task)));
+			}
+			List<Result> results = new ArrayList<Result>(tasks.size());
+			for (Future<Result> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("TASK FAILED", e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * This method runs a single task on the calling thread.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return The task's result.
+	 */
+	static Result solve(Task task) {
+		SplittableRandom rng = new SplittableRandom(task.seed);
+		Board board = task.distance < 0 ? StateGenerator.uniform(3, rng) : StateGenerator.at_distance(3, task.distance, rng);
+		String start = board.get_state_arr();
+		Result result = new Result(task, start);
+		for (int i = 0; i < 5; i++) {
+			Solver solver = new Solver();
+			solver.quiet();
+			solver.max_nodes(task.max_nodes);
+			SearchResult search;
+			if (i == 0) {
+				search = solver.astar_h1(new Board(start));
+			} else if (i == 1) {
+				search = solver.astar_h2(new Board(start));
+			} else if (i == 2) {
+				search = solver.beam(new Board(start), 5);
+			} else if (i == 3) {
+				search = solver.astar_lc(new Board(start));
+			} else {
+				search = solver.astar_wd(new Board(start));
+			}
+			result.solved[i] = search.is_solved();
+			result.times[i] = search.get_wall_time();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,128 @@
+package puzzle;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the k items with the lowest keys out of any number offered, in a binary max-heap of size k.
+ * An offer is O(log k) and needs no allocation, and an item that can not make the cut is rejected
+ * after one comparison with the root, so selecting k of n items never sorts all n.
+ * 
+ * Equal keys are ordered by arrival, so the selection is exactly the first k items of a stable sort.
+ * The items are the int ids of nodes in a NodeArena.
+ */
+public class BeamSelection {
+	private final int k;
+	private final int[] items;
+	private final double[] keys;
+	private final long[] arrivals;
+	private int size = 0;
+	private long offered = 0;
+
+	/**
+	 * @param k The number of items kept.
+	 */
+	BeamSelection(int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("INVALID BEAM WIDTH " + k);
+		}
+		this.k = k;
+		this.items = new int[k];
+		this.keys = new double[k];
+		this.arrivals = new long[k];
+	}
+
+	/**
+	 * This method checks whether the item at i comes after the item at j.
+	 */
+	private boolean after(int i, int j) {
+		return keys[i] > keys[j] || (keys[i] == keys[j] && arrivals[i] > arrivals[j]);
+	}
+
+	/**
+	 * This method offers an item, which is kept if it is among the k lowest keys so far.
+	 * 
+	 * @param item The item.
+	 * @param key The key, lower is better.
+	 */
+	void offer(int item, double key) {
+		long arrival = offered++;
+		if (size < k) {
+			// sift up
+			int i = size++;
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (keys[parent] > key || (keys[parent] == key && arrivals[parent] > arrival)) {
+					break;
+				}
+				items[i] = items[parent];
+				keys[i] = keys[parent];
+				arrivals[i] = arrivals[parent];
+				i = parent;
+			}
+			items[i] = item;
+			keys[i] = key;
+			arrivals[i] = arrival;
+			return;
+		}
+		// equal keys arrive later, so they never beat the root
+		if (key >= keys[0]) {
+			return;
+		}
+		items[0] = item;
+		keys[0] = key;
+		arrivals[0] = arrival;
+		sift_down(0, size);
+	}
+
+	/**
+	 * This method restores the heap below i within the first n slots.
+	 */
+	private void sift_down(int i, int n) {
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= n) {
+				return;
+			}
+			if (child + 1 < n && after(child + 1, child)) {
+				child++;
+			}
+			if (!after(child, i)) {
+				return;
+			}
+			swap(i, child);
+			i = child;
+		}
+	}
+
+	private void swap(int i, int j) {
+		int item = items[i];
+		items[i] = items[j];
+		items[j] = item;
+		double key = keys[i];
+		keys[i] = keys[j];
+		keys[j] = key;
+		long arrival = arrivals[i];
+		arrivals[i] = arrivals[j];
+		arrivals[j] = arrival;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * This method takes the selected items out in ascending order of key, leaving the selection empty.
+	 * 
+	 * @return The selected items, lowest key first.
+	 */
+	int[] drain() {
+		// heap sort in place: the root is the largest, so it goes to the end
+		for (int n = size - 1; n > 0; n--) {
+			swap(0, n);
+			sift_down(0, n);
+		}
+		int[] sorted = Arrays.copyOf(items, size);
+		size = 0;
+		return sorted;
+	}
+}
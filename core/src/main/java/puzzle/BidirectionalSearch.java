@@ -0,0 +1,197 @@
+package puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Front-to-end bidirectional A-star. One search runs forward from the start board towards the goal
+ * with the chosen heuristic, and the other runs backward from the goal towards the start board with
+ * the Manhattan distance to the start board. Each direction keeps its own open list and map of best
+ * g(n), and the side with the smaller open list is expanded next.
+ * 
+ * Whenever a child is already known to the other direction, the two half paths form a solution, and
+ * the cheapest one is kept as the incumbent. Any cheaper solution has to pass through an open node of
+ * each direction, so the search stops as soon as the lowest f(n) of either direction reaches the
+ * incumbent, which makes the result optimal with admissible heuristics.
+ */
+public class BidirectionalSearch {
+	private final Heuristic heuristic;
+	private final Budget budget;
+	private long generated = 0;
+	private long expanded = 0;
+	private long duplicates = 0;
+	private long peak_open = 0;
+	private long peak_closed = 0;
+	private Budget.Limit limit;
+	private Board best;
+
+	/**
+	 * @param heuristic The heuristic of the forward direction.
+	 * @param budget The limits of both directions together.
+	 */
+	BidirectionalSearch(Heuristic heuristic, Budget budget) {
+		this.heuristic = heuristic;
+		this.budget = budget;
+	}
+
+	/**
+	 * The nodes of one direction, the map from state to the index of its best node, and the open list.
+	 */
+	private class Side {
+		private final boolean forward;
+		private final int[] target_cells;
+		private final List<Board> nodes = new ArrayList<Board>();
+		private final StateMap index = new StateMap();
+		private final OpenList<Board> open = new BucketOpenList<Board>();
+
+		/**
+		 * @param root The board this direction starts from.
+		 * @param target The board this direction searches towards.
+		 * @param forward Whether this direction searches towards the goal.
+		 */
+		Side(Board root, Board target, boolean forward) {
+			this.forward = forward;
+			this.target_cells = target.tile_cells();
+			add(root);
+		}
+
+		/**
+		 * This method estimates the cost from a board to this direction's target.
+		 */
+		private void estimate(Board board) {
+			if (forward) {
+				board.find_h(heuristic);
+			} else {
+				board.set_h(board.manhattan_to(target_cells));
+			}
+			board.set_f();
+		}
+
+		/**
+		 * This method records a board as the best node of its state and pushes it.
+		 */
+		private void add(Board board) {
+			estimate(board);
+			index.put(board.get_state(), board.get_state_hi(), nodes.size());
+			nodes.add(board);
+			open.push(board, board.get_f(), board.get_h());
+		}
+
+		/**
+		 * This method gets the best node of a state in this direction.
+		 * 
+		 * @return The node, or null if the state has not been reached.
+		 */
+		private Board find(Board board) {
+			int i = index.get(board.get_state(), board.get_state_hi());
+			return i < 0 ? null : nodes.get(i);
+		}
+	}
+
+	/**
+	 * This method runs the search.
+	 * 
+	 * @param board The start board.
+	 * 
+	 * @return The moves from the start board to the goal, or null if there is no solution or the budget ran out.
+	 */
+	List<String> solve(Board board) {
+		Board start = board.copy();
+		Board goal = new Board(Board.goal(start.get_dim()));
+		Side forward = new Side(start, goal, true);
+		Side backward = new Side(goal, start, false);
+		generated = 2;
+		expanded = 0;
+		duplicates = 0;
+		peak_open = 2;
+		peak_closed = 2;
+		limit = null;
+		best = start;
+		int incumbent = Integer.MAX_VALUE;
+		Board meet_forward = null;
+		Board meet_backward = null;
+		if (start.equal(goal)) {
+			return new ArrayList<String>();
+		}
+		while (!forward.open.isEmpty() && !backward.open.isEmpty()) {
+			Side side = forward.open.size() <= backward.open.size() ? forward : backward;
+			Side other = side == forward ? backward : forward;
+			Board node = side.open.pop();
+			if (side.find(node) != node) {
+				// reached again with a lower cost since it was pushed
+				continue;
+			}
+			if (node.get_f() >= incumbent) {
+				// the lowest f(n) of this direction bounds every solution that is not known yet
+				break;
+			}
+			expanded++;
+			if (side == forward && node.get_h() < best.get_h()) {
+				best = node;
+			}
+			for (byte code : node.successors()) {
+				Board child = node.move(code);
+				Board known = side.find(child);
+				if (known != null && known.get_g() <= child.get_g()) {
+					duplicates++;
+					continue;
+				}
+				limit = budget.check(++generated, forward.nodes.size() + backward.nodes.size());
+				if (limit != null) {
+					return null;
+				}
+				side.add(child);
+				peak_open = Math.max(peak_open, forward.open.size() + backward.open.size());
+				peak_closed = forward.nodes.size() + backward.nodes.size();
+				Board meet = other.find(child);
+				if (meet != null && child.get_g() + meet.get_g() < incumbent) {
+					incumbent = child.get_g() + meet.get_g();
+					meet_forward = side == forward ? child : meet;
+					meet_backward = side == forward ? meet : child;
+				}
+			}
+		}
+		if (meet_forward == null) {
+			return null;
+		}
+		// the backward half is walked from the meeting point to the goal, undoing each move
+		List<String> path = meet_forward.get_path();
+		List<String> back = meet_backward.get_path();
+		for (int i = back.size() - 1; i >= 0; i--) {
+			path.add(Board.inverse(back.get(i)));
+		}
+		return path;
+	}
+
+	/**
+	 * This method gets the limit the last search ran into.
+	 * 
+	 * @return The limit, or null if the search was not stopped.
+	 */
+	Budget.Limit get_limit() {
+		return limit;
+	}
+
+	/**
+	 * This method gets the board with the lowest h(n) the forward direction expanded. Its path starts
+	 * at a copy of the start board.
+	 * 
+	 * @return The board.
+	 */
+	Board get_best() {
+		return best;
+	}
+
+	/**
+	 * This method copies the counters of the last search into a result.
+	 * 
+	 * @param result The result to count into.
+	 */
+	void count(SearchResult result) {
+		result.generated = generated;
+		result.expanded = expanded;
+		result.duplicates = duplicates;
+		result.peak_open = peak_open;
+		result.peak_closed = peak_closed;
+	}
+}
@@ -0,0 +1,914 @@
+package puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+public class Board {
+	private static final char blank_tile = 'b';
+	public static final Random rand = new Random(12345);
+	
+	private final Geometry geometry;
+	private final int dim;
+	// packed by Geometry, the high word is only used by 5x5 boards
+	private long state;
+	private long state_hi;
+	private int blank;
+	private int f = 0;
+	private int g = 0;
+	private int h = 0;
+	private int h1 = 0;
+	private int h2 = 0;
+	private Board parent;
+	private byte last_move = -1;
+	// the linear conflicts in moves and the walking distance tables, -1 until a search asks for them
+	private int conflicts = -1;
+	private int wd_rows = -1;
+	private int wd_cols = -1;
+
+
+	/**
+	 * This constructor takes in a string representation of the state and creates a Board object.
+	 * Up to 3x3 each row may be written as one word with a character per tile, as in "b12 345 678".
+	 * Any board may also list every tile as its own word, as in "b 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15".
+	 * The dimension is the square root of the number of tiles.
+	 * 
+	 * @param state_str The state in string format.
+	 */
+	public Board(String state_str) {
+		if (state_str.isBlank()) {
+			throw new IllegalArgumentException("THE INPUT CAN NOT BE EMPTY OR LESS THAN THE TILES");
+		}
+		int[] tiles = parse(state_str);
+		this.dim = (int) Math.round(Math.sqrt(tiles.length));
+		this.geometry = Geometry.of(dim);
+		set_state(tiles);
+		compute_heuristics();
+		find_h2();
+	}
+
+	/**
+	 * This constructor creates a Board object directly from a packed state whose heuristics are already known.
+	 * 
+	 * @param geometry The geometry of the board.
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * @param blank The cell index of the blank tile.
+	 * @param h1 The number of misplaced tiles.
+	 * @param h2 The sum of the Manhattan distances.
+	 */
+	private Board(Geometry geometry, long state, long state_hi, int blank, int h1, int h2) {
+		this.geometry = geometry;
+		this.dim = geometry.dim;
+		this.state = state;
+		this.state_hi = state_hi;
+		this.blank = blank;
+		this.h1 = h1;
+		this.h2 = h2;
+		find_h2();
+	}
+	
+	/**
+	 * This method gets the ancestor path of the state.
+	 * Nodes only keep a reference to their parent and the move that created them,
+	 * so the path is rebuilt here by walking back to the root.
+	 * 
+	 * @return A list of ancestors.
+	 */
+	List<String> get_path() {
+		LinkedList<String> path = new LinkedList<String>();
+		for (Board node = this; node.parent != null; node = node.parent) {
+			path.addFirst(Direction.of(node.last_move).toString());
+		}
+		return path;
+	}
+
+	/**
+	 * This method gets the board this one was created from by a move.
+	 * 
+	 * @return The parent, or null for a root board.
+	 */
+	Board get_parent() {
+		return parent;
+	}
+
+	/**
+	 * This method gets the move that created this board from its parent.
+	 * 
+	 * @return The move code, 0 to 3 for up, down, left and right, or -1 for a root board.
+	 */
+	int get_last_move() {
+		return last_move;
+	}
+
+	/**
+	 * This method splits the input string into tiles, in row-major order.
+	 * 
+	 * @param state_str The input state string.
+	 * 
+	 * @return The tiles, 0 for the blank.
+	 */
+	private static int[] parse(String state_str) {
+		String[] words = state_str.strip().split("\\s+");
+		int[] tiles;
+		if (words.length >= Geometry.min_dim * Geometry.min_dim && is_square(words.length)) {
+			// one word per tile
+			tiles = new int[words.length];
+			for (int i = 0; i < words.length; i++) {
+				tiles[i] = tile_value(words[i]);
+			}
+		} else {
+			// one character per tile, rows separated by spaces
+			String joined = String.join("", words);
+			tiles = new int[joined.length()];
+			for (int i = 0; i < joined.length(); i++) {
+				tiles[i] = tile_value(Character.toString(joined.charAt(i)));
+			}
+		}
+		if (!is_square(tiles.length)) {
+			throw new IllegalArgumentException("THE INPUT CAN NOT BE EMPTY OR LESS THAN THE TILES");
+		}
+		// every tile has to appear exactly once
+		boolean[] seen = new boolean[tiles.length];
+		for (int tile : tiles) {
+			if (tile >= tiles.length || seen[tile]) {
+				throw new IllegalArgumentException("INVALID TILE " + tile);
+			}
+			seen[tile] = true;
+		}
+		return tiles;
+	}
+
+	/**
+	 * This method checks if a number of tiles makes a supported square board.
+	 */
+	private static boolean is_square(int n) {
+		int root = (int) Math.round(Math.sqrt(n));
+		return root * root == n && root >= Geometry.min_dim && root <= Geometry.max_dim;
+	}
+
+	/**
+	 * This method packs the given tiles into the state.
+	 * 
+	 * @param tiles The tiles in row-major order.
+	 */
+	private void set_state(int[] tiles) {
+		long lo = 0;
+		long hi = 0;
+		for (int i = 0; i < tiles.length; i++) {
+			if (tiles[i] == 0) {
+				this.blank = i;
+			}
+			lo = geometry.place(lo, i, tiles[i]);
+			hi = geometry.place_hi(hi, i, tiles[i]);
+		}
+		this.state = lo;
+		this.state_hi = hi;
+	}
+
+	/**
+	 * This method converts a tile word into its packed value.
+	 * 
+	 * @param tile The tile, either b for the blank or a number.
+	 * 
+	 * @return The packed value, 0 for the blank tile.
+	 */
+	private static int tile_value(String tile) {
+		if (tile.length() == 1 && tile.charAt(0) == blank_tile) {
+			return 0;
+		}
+		try {
+			int value = Integer.parseInt(tile);
+			if (value < 1) {
+				throw new IllegalArgumentException("INVALID TILE " + tile);
+			}
+			return value;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("INVALID TILE " + tile);
+		}
+	}
+
+	/**
+	 * This method converts a packed tile value back into its text.
+	 * 
+	 * @param tile The packed value.
+	 * 
+	 * @return The tile text.
+	 */
+	private static String tile_text(int tile) {
+		return tile == 0 ? Character.toString(blank_tile) : Integer.toString(tile);
+	}
+
+	/**
+	 * This method gets the tile at the given cell.
+	 * 
+	 * @param cell The cell index, row major.
+	 * 
+	 * @return The packed tile value.
+	 */
+	int tile_at(int cell) {
+		return geometry.tile(state, state_hi, cell);
+	}
+	
+	/**
+	 * This method gets the state string.
+	 * 
+	 * @return The string of the current state.
+	 */
+	String get_state_arr() {
+		return toString(to_array());
+	}
+
+	/**
+	 * This method gets the low word of the packed state, which is the whole state up to 4x4.
+	 * 
+	 * @return The low word of the current state.
+	 */
+	long get_state() {
+		return state;
+	}
+
+	/**
+	 * This method gets the high word of the packed state, which is always 0 up to 4x4.
+	 * 
+	 * @return The high word of the current state.
+	 */
+	long get_state_hi() {
+		return state_hi;
+	}
+
+	/**
+	 * This method gets the dimension of the board.
+	 * 
+	 * @return The number of rows and columns.
+	 */
+	int get_dim() {
+		return dim;
+	}
+
+	/**
+	 * This method gets the cell of the blank tile.
+	 * 
+	 * @return The cell index, row major.
+	 */
+	int get_blank() {
+		return blank;
+	}
+
+	/**
+	 * This method gets the goal state string of the given dimension.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * 
+	 * @return The goal, with tile i in cell i.
+	 */
+	static String goal(int dim) {
+		String[][] temp = new String[dim][dim];
+		for (int i = 0; i < dim * dim; i++) {
+			temp[i / dim][i % dim] = tile_text(i);
+		}
+		return format(temp);
+	}
+
+	/**
+	 * This method expands the packed state into a two-dimensional array, only used for printing.
+	 * 
+	 * @return The state as a two-dimensional array.
+	 */
+	String[][] to_array() {
+		String[][] temp = new String[dim][dim];
+		for (int i = 0; i < dim; i++) {
+			for (int j = 0; j < dim; j++) {
+				temp[i][j] = tile_text(tile_at(i * dim + j));
+			}
+		}
+		return temp;
+	}
+
+	/**
+	 * sets g(n) given the cost input
+	 * 
+	 * @param cost The cost given
+	 */
+	void set_g(int cost) {
+		this.g = cost;
+	}
+
+	/**
+	 * This method gets the state's g(n).
+	 * 
+	 * @return The current state's g(n).
+	 */
+	int get_g() {
+		return this.g;
+	}
+
+	/**
+	 * sets h(n) given the cost input
+	 * 
+	 * @param cost The cost given
+	 */
+	void set_h(int cost) {
+		this.h = cost;
+	}
+	
+	/**
+	 * This method gets the state's h(n).
+	 * 
+	 * @return The current state's h(n).
+	 */
+	int get_h() {
+		return this.h;
+	}
+
+	/**
+	 * The function cost is: f(n) = g(n) + h(n)
+	 */
+	void set_f() {
+		this.f = this.g + this.h;
+	}
+	
+	/**
+	 * This method gets the state's f(n).
+	 * 
+	 * @return The current state's f(n).
+	 */
+	int get_f() {
+		return this.f;
+	}
+
+	/**
+	 * This method sets h(n) to h1, the number of misplaced tiles, not counting the blank.
+	 * h1 is kept up to date by move(), so this is a field read.
+	 */
+	void find_h1() {
+		set_h(h1);
+	}
+
+	/**
+	 * This method sets h(n) to h2, the sum of the Manhattan distance of each tile.
+	 * h2 is kept up to date by move(), so this is a field read.
+	 */
+	void find_h2() {
+		set_h(h2);
+	}
+
+	/**
+	 * This method gets h2 whatever heuristic h(n) was last set to, without changing h(n).
+	 * 
+	 * @return The Manhattan distance of the state.
+	 */
+	int get_h2() {
+		return h2;
+	}
+
+	/**
+	 * This method sets h(n) to the additive pattern database heuristic.
+	 */
+	void find_pdb() {
+		set_h(PatternDatabase.get(dim).estimate(this));
+	}
+
+	/**
+	 * This method sets h(n) to h2 plus the linear conflicts of every row and column.
+	 * The conflicts are counted on the first call, and after that they are kept up to date by move(),
+	 * which only counts the line the moved tile belongs in again.
+	 */
+	void find_lc() {
+		if (conflicts < 0) {
+			conflicts = 0;
+			for (int line = 0; line < dim; line++) {
+				conflicts += geometry.conflicts(state, state_hi, true, line) + geometry.conflicts(state, state_hi, false, line);
+			}
+		}
+		set_h(h2 + conflicts);
+	}
+
+	/**
+	 * This method sets h(n) to the walking distance, the sum of the vertical and horizontal walking distances.
+	 * The tables of the board are looked up on the first call, and after that move() follows them with one
+	 * lookup per move.
+	 */
+	void find_wd() {
+		if (wd_rows < 0) {
+			WalkingDistance walking = WalkingDistance.get(dim);
+			wd_rows = walking.table(geometry, state, state_hi, true);
+			wd_cols = walking.table(geometry, state, state_hi, false);
+		}
+		WalkingDistance walking = geometry.walking_distance;
+		set_h(walking.distance(wd_rows) + walking.distance(wd_cols));
+	}
+
+	/**
+	 * This method updates the linear conflicts and the walking distance tables after a move, if they are known.
+	 * A vertical move only changes the rows and a horizontal move only the columns, and of those only the line
+	 * the moved tile belongs in can have different conflicts.
+	 * 
+	 * @param old_state The low word of the state before the move.
+	 * @param old_state_hi The high word of the state before the move.
+	 * @param tile The tile that moved.
+	 * @param from The cell the tile moved from.
+	 * @param to The cell the tile moved to.
+	 * @param code The move of the blank tile.
+	 */
+	private void update_lazy(long old_state, long old_state_hi, int tile, int from, int to, int code) {
+		boolean rows = code < 2;
+		int line = rows ? tile / dim : tile % dim;
+		// the conflicts of the line only change if the tile leaves it or enters it
+		if (conflicts >= 0 && (line == (rows ? from / dim : from % dim) || line == (rows ? to / dim : to % dim))) {
+			conflicts += geometry.conflicts(state, state_hi, rows, line) - geometry.conflicts(old_state, old_state_hi, rows, line);
+		}
+		if (wd_rows >= 0) {
+			if (rows) {
+				wd_rows = geometry.walking_distance.move(wd_rows, code & 1, line);
+			} else {
+				wd_cols = geometry.walking_distance.move(wd_cols, code & 1, line);
+			}
+		}
+	}
+
+	/**
+	 * This method sets h(n) using the given heuristic.
+	 * 
+	 * @param heuristic The heuristic to use.
+	 */
+	void find_h(Heuristic heuristic) {
+		switch (heuristic) {
+		case H1:
+			find_h1();
+			break;
+		case H2:
+			find_h2();
+			break;
+		case PDB:
+			find_pdb();
+			break;
+		case LC:
+			find_lc();
+			break;
+		case WD:
+			find_wd();
+			break;
+		}
+	}
+
+	/**
+	 * This method calculates the sum of the Manhattan distances of the tiles to an arbitrary target layout,
+	 * used as the heuristic of searches that run backwards from the goal to a start board.
+	 * 
+	 * @param target_cells The target cell of every tile, indexed by tile.
+	 * 
+	 * @return The sum of the Manhattan distances, not counting the blank.
+	 */
+	int manhattan_to(int[] target_cells) {
+		int manhattan = 0;
+		for (int cell = 0; cell < geometry.cells; cell++) {
+			int tile = tile_at(cell);
+			if (tile != 0) {
+				int target = target_cells[tile];
+				manhattan += Math.abs(cell / dim - target / dim) + Math.abs(cell % dim - target % dim);
+			}
+		}
+		return manhattan;
+	}
+
+	/**
+	 * This method gets the cell of every tile, the inverse of tile_at.
+	 * 
+	 * @return The cells indexed by tile.
+	 */
+	int[] tile_cells() {
+		int[] cells = new int[geometry.cells];
+		for (int cell = 0; cell < geometry.cells; cell++) {
+			cells[tile_at(cell)] = cell;
+		}
+		return cells;
+	}
+
+	/**
+	 * This method calculates h1 and h2 from scratch, only needed when the state is set directly.
+	 */
+	private void compute_heuristics() {
+		int misplaced = 0;
+		int manhattan = 0;
+		for (int i = 0; i < geometry.cells; i++) {
+			int tile = tile_at(i);
+			if (tile != 0 && tile != i) {
+				misplaced++;
+			}
+			manhattan += geometry.manhattan[tile][i];
+		}
+		this.h1 = misplaced;
+		this.h2 = manhattan;
+	}
+
+	/**
+	 * This method sets the current state of the board, given the input state.
+	 * 
+	 * @param state The given state.
+	 */
+	void setState(String[][] state) {
+		if (state.length != dim) {
+			throw new IllegalArgumentException("THE STATE HAS TO BE " + dim + "x" + dim);
+		}
+		set_state(parse(format(state)));
+		compute_heuristics();
+	}
+
+	/**
+	 * This method makes a copy of the current state and moves the blank tile into the specified direction in the new state.
+	 * This creates a child node and assigns the new state, increases g(n) and sets the parent to this.
+	 * 
+	 * @param direction The specified direction
+	 * 
+	 * @return The child node.
+	 */
+	Board move(String direction) {
+		return move(Direction.of(direction).code());
+	}
+
+	/**
+	 * This method makes a copy of the current state and moves the blank tile by a move code in the new state.
+	 * 
+	 * @param code The move, 0 to 3 for up, down, left and right.
+	 * 
+	 * @return The child node.
+	 */
+	Board move(int code) {
+		// find the cell the blank tile moves into
+		int target = target_of(code);
+		if (target < 0) {
+			throw new IllegalArgumentException("INVALID DIRECTION");
+		}
+		// the blank cell is 0, so the moved tile is or-ed into it and cleared from the target
+		int tile = tile_at(target);
+		long new_state = geometry.clear(geometry.place(state, blank, tile), target);
+		long new_state_hi = geometry.clear_hi(geometry.place_hi(state_hi, blank, tile), target);
+		// only the moved tile and the blank change cells, so both heuristics are updated by their deltas
+		int new_h1 = h1 + (tile != blank ? 1 : 0) - (tile != target ? 1 : 0);
+		int new_h2 = h2 + geometry.manhattan[tile][blank] - geometry.manhattan[tile][target];
+		// create new node
+		Board child = new Board(geometry, new_state, new_state_hi, target, new_h1, new_h2);
+		child.set_g(this.get_g() + 1);
+		child.parent = this;
+		child.last_move = (byte) code;
+		child.conflicts = conflicts;
+		child.wd_rows = wd_rows;
+		child.wd_cols = wd_cols;
+		child.update_lazy(state, state_hi, tile, target, blank, code);
+		return child;
+	}
+
+	/**
+	 * This method gets the cell the blank tile moves into for a move code.
+	 * 
+	 * @param code The move, 0 to 3 for up, down, left and right.
+	 * 
+	 * @return The target cell, or -1 if the move would leave the board.
+	 */
+	private int target_of(int code) {
+		return geometry.neighbors[blank * 4 + code];
+	}
+
+	/**
+	 * This method gets the moves worth making from this board: those that stay on the board, except the one
+	 * that undoes the move that created it, since that leads back to the parent. The codes come from a table
+	 * shared by every board of the dimension, so the caller must not change them.
+	 * 
+	 * @return The move codes, in the order up, down, left, right.
+	 */
+	byte[] successors() {
+		return successors(last_move);
+	}
+
+	/**
+	 * This method gets the moves worth making from this board after the given move, for depth-first searches
+	 * and arenas that move one board in place and keep track of the previous move themselves.
+	 * 
+	 * @param previous The move that led to this state, or -1 to allow every move that stays on the board.
+	 * 
+	 * @return The move codes, in the order up, down, left, right, which the caller must not change.
+	 */
+	byte[] successors(int previous) {
+		return geometry.successors[blank * 5 + previous + 1];
+	}
+
+	/**
+	 * This method moves the blank tile in place, for depth-first searches that walk a single board.
+	 * The state, g(n), h1, h2 and the known linear conflicts and walking distance tables are updated, but no
+	 * child is created and the parent is unchanged.
+	 * 
+	 * @param code The move, 0 to 3 for up, down, left and right.
+	 * 
+	 * @return False if the move would leave the board, in which case nothing changes.
+	 */
+	boolean make_move(int code) {
+		int target = target_of(code);
+		if (target < 0) {
+			return false;
+		}
+		int tile = tile_at(target);
+		long old_state = state;
+		long old_state_hi = state_hi;
+		state = geometry.clear(geometry.place(state, blank, tile), target);
+		state_hi = geometry.clear_hi(geometry.place_hi(state_hi, blank, tile), target);
+		h1 += (tile != blank ? 1 : 0) - (tile != target ? 1 : 0);
+		h2 += geometry.manhattan[tile][blank] - geometry.manhattan[tile][target];
+		update_lazy(old_state, old_state_hi, tile, target, blank, code);
+		blank = target;
+		g++;
+		return true;
+	}
+
+	/**
+	 * This method undoes make_move(code). The inverse move restores the state, and since make_move
+	 * counts it as one more step, g(n) goes back by two.
+	 * 
+	 * @param code The move that was made.
+	 */
+	void unmake_move(int code) {
+		make_move(code ^ 1);
+		g -= 2;
+	}
+
+	/**
+	 * This method creates a root board with the same state, g(n) = 0 and no parent.
+	 * 
+	 * @return The copy.
+	 */
+	Board copy() {
+		Board copy = new Board(geometry, state, state_hi, blank, h1, h2);
+		copy.conflicts = conflicts;
+		copy.wd_rows = wd_rows;
+		copy.wd_cols = wd_cols;
+		return copy;
+	}
+
+	/**
+	 * This method turns this board into a root board of another state of the same dimension, so a search
+	 * can expand the nodes it stores as packed states on one board instead of a Board per node.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 */
+	void load(long state, long state_hi) {
+		this.state = state;
+		this.state_hi = state_hi;
+		this.blank = 0;
+		while (geometry.tile(state, state_hi, blank) != 0) {
+			blank++;
+		}
+		this.g = 0;
+		this.parent = null;
+		this.last_move = -1;
+		this.conflicts = -1;
+		this.wd_rows = -1;
+		this.wd_cols = -1;
+		compute_heuristics();
+		find_h2();
+	}
+
+	/**
+	 * This method loads a packed state together with the linear conflicts and walking distance tables it
+	 * had when it was stored, so find_lc() and find_wd() do not count them again from scratch.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * @param conflicts The linear conflicts of the state, or -1 if unknown.
+	 * @param wd_rows The vertical walking distance table of the state, or -1 if unknown.
+	 * @param wd_cols The horizontal walking distance table of the state, or -1 if unknown.
+	 */
+	void load(long state, long state_hi, int conflicts, int wd_rows, int wd_cols) {
+		load(state, state_hi);
+		this.conflicts = conflicts;
+		this.wd_rows = wd_rows;
+		this.wd_cols = wd_cols;
+	}
+
+	/**
+	 * This method gets the linear conflicts, as kept up to date by moves once find_lc() has counted them.
+	 * 
+	 * @return The linear conflicts, or -1 if unknown.
+	 */
+	int get_conflicts() {
+		return conflicts;
+	}
+
+	/**
+	 * This method gets the index of the vertical walking distance table, once find_wd() has looked it up.
+	 * 
+	 * @return The table, or -1 if unknown.
+	 */
+	int get_wd_rows() {
+		return wd_rows;
+	}
+
+	/**
+	 * This method gets the index of the horizontal walking distance table, once find_wd() has looked it up.
+	 * 
+	 * @return The table, or -1 if unknown.
+	 */
+	int get_wd_cols() {
+		return wd_cols;
+	}
+
+	/**
+	 * This method creates a root board from a packed state, such as one read back from disk.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * 
+	 * @return The board, with g(n) = 0 and h(n) = h2.
+	 */
+	static Board unpack(int dim, long state, long state_hi) {
+		Geometry geometry = Geometry.of(dim);
+		int blank = 0;
+		while (geometry.tile(state, state_hi, blank) != 0) {
+			blank++;
+		}
+		Board board = new Board(geometry, state, state_hi, blank, 0, 0);
+		board.compute_heuristics();
+		board.find_h2();
+		return board;
+	}
+
+	/**
+	 * This method gets the direction that undoes the given one.
+	 * 
+	 * @param direction One of up, down, left or right.
+	 * 
+	 * @return The opposite direction.
+	 */
+	static String inverse(String direction) {
+		return Direction.of(direction).inverse().toString();
+	}
+
+	/**
+	 * This method gets the name of a move code.
+	 * 
+	 * @param code The move, 0 to 3.
+	 * 
+	 * @return One of up, down, left or right.
+	 */
+	static String direction(int code) {
+		return Direction.of(code).toString();
+	}
+
+	/**
+	 * This method gets the possible moves in {up, down, left, right} given the blank tile location
+	 * 
+	 * @return List of possible moves.
+	 */
+	List<String> find_allowed_moves() {
+		List<String> allowed_moves = new ArrayList<String>();
+		for (byte code : successors(-1)) {
+			allowed_moves.add(Direction.of(code).toString());
+		}
+		return allowed_moves;
+	}
+
+	/**
+	 * This method finds the location of the blank tile, and throws exception if not found.
+	 * 
+	 * @return Location of the blank tile.
+	 */
+	int[] find_blank() {
+		return new int[] {blank / dim, blank % dim};
+	}
+
+	/**
+	 * This method prints the current state as an two-dimensional array.
+	 */
+	void printState() {
+		System.out.println(Arrays.deepToString(to_array()));
+	}
+	
+	/**
+	 * This method prints the current state as an two-dimensional array.
+	 */
+	void printStateArr() {
+		System.out.println(get_state_arr());
+	}
+
+	/**
+	 * This method checks if the goal state has been reached and returns the decision.
+	 * 
+	 * @return Either the goal has been reached or not.
+	 */
+	boolean isGoal() {
+		if (this.state == geometry.goal && this.state_hi == geometry.goal_hi) {
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * This method checks whether the goal can be reached from this board. Counting the inversions among
+	 * the tiles, a horizontal move keeps them and a vertical move changes them by dim - 1. On odd boards
+	 * their parity never changes, and on even boards the parity of inversions plus the blank's row never
+	 * changes. The goal has no inversions and the blank in row 0.
+	 * 
+	 * @return Either the board is solvable or not.
+	 */
+	boolean is_solvable() {
+		int inversions = 0;
+		for (int i = 0; i < geometry.cells; i++) {
+			int tile = tile_at(i);
+			if (tile == 0) {
+				continue;
+			}
+			for (int j = i + 1; j < geometry.cells; j++) {
+				int other = tile_at(j);
+				if (other != 0 && other < tile) {
+					inversions++;
+				}
+			}
+		}
+		if (dim % 2 == 1) {
+			return inversions % 2 == 0;
+		}
+		return (inversions + blank / dim) % 2 == 0;
+	}
+
+	/**
+	 * This method adopts the current board and makes n random moves from the goal state.
+	 * 
+	 * @param The number of random moves to scramble the puzzle.
+	 */
+	Board randomizeState(int n) {
+		return randomizeState(n, rand);
+	}
+
+	/**
+	 * This method adopts the current board and makes n random moves drawn from the given generator.
+	 * Concurrent callers should each pass their own generator, such as a SplittableRandom, rather than share rand.
+	 * The moves are made in place on one copy, so no board is created per move. StateGenerator draws
+	 * uniformly random boards and boards at an exact distance without making moves at all.
+	 * 
+	 * @param n The number of random moves to scramble the puzzle.
+	 * @param rng The random number generator.
+	 * 
+	 * @return The scrambled board, as a root board with g(n) = 0.
+	 */
+	Board randomizeState(int n, RandomGenerator rng) {
+		Board board = copy();
+		for (int iteration = 0; iteration < n; iteration++) {
+			byte[] moves = board.successors(-1);
+			board.make_move(moves[rng.nextInt(moves.length)]);
+		}
+		return board.copy();
+	}
+
+	/**
+	 * This method returns the state as a String.
+	 * 
+	 * @param state The given state.
+	 * 
+	 * @return The state in String format.
+	 */
+	String toString(String[][] state) {
+		return format(state);
+	}
+
+	/**
+	 * This method formats a state the way the constructor reads it. Up to 3x3 every row is one word,
+	 * and larger boards separate every tile since tiles may have two digits.
+	 * 
+	 * @param state The given state.
+	 * 
+	 * @return The state in String format.
+	 */
+	private static String format(String[][] state) {
+		int size = state.length;
+		StringBuilder str = new StringBuilder(size * size * 3);
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				if ((j == 0 && i > 0) || (j > 0 && size > 3)) {
+					str.append(' ');
+				}
+				str.append(state[i][j]);
+			}
+		}
+		return str.toString();
+	}
+	
+	/**
+	 * This method compares the state value of two boards.
+	 * 
+	 * @param board The other board to be compared to.
+	 * 
+	 * @return A boolean of equality.
+	 */
+	boolean equal(Board board) {
+		if (this.state == board.state && this.state_hi == board.state_hi) {
+			return true;
+		} else {
+			return false;
+		}
+	}
+}
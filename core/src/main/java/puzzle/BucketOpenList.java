@@ -0,0 +1,81 @@
+package puzzle;
+
+import java.util.Arrays;
+
+/**
+ * A two-level bucket queue indexed by f(n) and then h(n). Nodes with equal f(n) and h(n) are
+ * popped last in, first out. Since f(n) and h(n) are small integers, push is O(1) and pop is
+ * amortized O(1) as long as f(n) never drops far below the current minimum.
+ * 
+ * @param <T> The type of node stored in the frontier.
+ */
+public class BucketOpenList<T> implements OpenList<T> {
+	// buckets[f][h] is a stack of nodes, with its height in heights[f][h]
+	private Object[][][] buckets = new Object[0][][];
+	private int[][] heights = new int[0][];
+	private int[] f_sizes = new int[0];
+	private int min_f = 0;
+	private int size = 0;
+
+	@Override
+	public void push(T node, int f, int h) {
+		if (f < 0 || h < 0) {
+			throw new IllegalArgumentException("NEGATIVE COST");
+		}
+		if (f >= buckets.length) {
+			int length = Math.max(f + 1, buckets.length * 2);
+			buckets = Arrays.copyOf(buckets, length);
+			heights = Arrays.copyOf(heights, length);
+			f_sizes = Arrays.copyOf(f_sizes, length);
+		}
+		if (buckets[f] == null || h >= buckets[f].length) {
+			int length = Math.max(h + 1, buckets[f] == null ? 8 : buckets[f].length * 2);
+			buckets[f] = buckets[f] == null ? new Object[length][] : Arrays.copyOf(buckets[f], length);
+			heights[f] = heights[f] == null ? new int[length] : Arrays.copyOf(heights[f], length);
+		}
+		Object[] stack = buckets[f][h];
+		int height = heights[f][h];
+		if (stack == null) {
+			stack = new Object[16];
+			buckets[f][h] = stack;
+		} else if (height == stack.length) {
+			stack = Arrays.copyOf(stack, height * 2);
+			buckets[f][h] = stack;
+		}
+		stack[height] = node;
+		heights[f][h] = height + 1;
+		f_sizes[f]++;
+		if (size == 0 || f < min_f) {
+			min_f = f;
+		}
+		size++;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T pop() {
+		if (size == 0) {
+			return null;
+		}
+		while (f_sizes[min_f] == 0) {
+			min_f++;
+		}
+		int[] by_h = heights[min_f];
+		int h = 0;
+		while (by_h[h] == 0) {
+			h++;
+		}
+		Object[] stack = buckets[min_f][h];
+		int height = --by_h[h];
+		T node = (T) stack[height];
+		stack[height] = null;
+		f_sizes[min_f]--;
+		size--;
+		return node;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,97 @@
+package puzzle;
+
+/**
+ * The limits of one search: nodes generated, wall time, approximate bytes held by the open and closed
+ * lists, and cancellation through a CancellationToken or by interrupting the searching thread.
+ * 
+ * Searches call check after every node they generate. The node and memory limits are two comparisons,
+ * and the clock, the token and the interrupt flag are only read once every check_interval nodes. A budget
+ * holds no mutable state, so the workers of a parallel search can share one.
+ */
+public class Budget {
+	/**
+	 * The limit a search ran into.
+	 */
+	enum Limit {
+		NODES, TIME, MEMORY, CANCELLED
+	}
+
+	// a Board with its parent link, plus its share of the open list and the closed set
+	static final int node_bytes = 112;
+	private static final int check_interval = 1024;
+
+	private final long max_nodes;
+	private final long deadline;
+	private final long max_stored;
+	private final CancellationToken token;
+
+	/**
+	 * @param max_nodes The largest number of nodes generated.
+	 * @param time_limit The wall time in nanoseconds from now, or 0 for no limit.
+	 * @param max_bytes The largest approximate number of bytes held by the open and closed lists, or 0 for no limit.
+	 * @param token The token to watch, or null.
+	 */
+	Budget(long max_nodes, long time_limit, long max_bytes, CancellationToken token) {
+		this(max_nodes, time_limit, max_bytes, token, node_bytes);
+	}
+
+	/**
+	 * @param max_nodes The largest number of nodes generated.
+	 * @param time_limit The wall time in nanoseconds from now, or 0 for no limit.
+	 * @param max_bytes The largest approximate number of bytes held by the open and closed lists, or 0 for no limit.
+	 * @param token The token to watch, or null.
+	 * @param stored_bytes The approximate number of bytes a stored node takes.
+	 */
+	Budget(long max_nodes, long time_limit, long max_bytes, CancellationToken token, int stored_bytes) {
+		this.max_nodes = max_nodes;
+		this.deadline = time_limit > 0 ? System.nanoTime() + time_limit : 0;
+		this.max_stored = max_bytes > 0 ? max_bytes / stored_bytes : Long.MAX_VALUE;
+		this.token = token;
+	}
+
+	/**
+	 * This method checks the budget after a node is generated.
+	 * 
+	 * @param nodes The number of nodes generated so far, which must grow by one between calls for the
+	 *              clock to be read every check_interval nodes.
+	 * @param stored The number of nodes held by the open and closed lists.
+	 * 
+	 * @return The limit that was reached, or null.
+	 */
+	Budget.Limit check(long nodes, long stored) {
+		if (nodes > max_nodes) {
+			return Limit.NODES;
+		}
+		if (stored > max_stored) {
+			return Limit.MEMORY;
+		}
+		if ((nodes & (check_interval - 1)) != 0) {
+			return null;
+		}
+		return poll();
+	}
+
+	/**
+	 * This method checks the clock, the token and the interrupt flag of the calling thread.
+	 * 
+	 * @return The limit that was reached, or null.
+	 */
+	Budget.Limit poll() {
+		if ((token != null && token.is_cancelled()) || Thread.currentThread().isInterrupted()) {
+			return Limit.CANCELLED;
+		}
+		if (deadline != 0 && System.nanoTime() - deadline > 0) {
+			return Limit.TIME;
+		}
+		return null;
+	}
+
+	/**
+	 * This method gets the deadline.
+	 * 
+	 * @return The System.nanoTime() at which the time runs out, or 0 for no limit.
+	 */
+	long get_deadline() {
+		return deadline;
+	}
+}
@@ -0,0 +1,32 @@
+package puzzle;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A flag that any thread can raise to stop the searches watching it. Searches only look at it every
+ * few thousand nodes, so cancelling takes effect within a fraction of a millisecond, not at once.
+ */
+public class CancellationToken implements BooleanSupplier {
+	private volatile boolean cancelled = false;
+
+	/**
+	 * This method asks every search watching this token to stop and return what it has.
+	 */
+	void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * This method checks whether the token has been cancelled.
+	 * 
+	 * @return Either cancel has been called or not.
+	 */
+	boolean is_cancelled() {
+		return cancelled;
+	}
+
+	@Override
+	public boolean getAsBoolean() {
+		return cancelled;
+	}
+}
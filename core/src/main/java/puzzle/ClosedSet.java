@@ -0,0 +1,48 @@
+package puzzle;
+
+/**
+ * The set of states already generated by a search, keyed by the packed state.
+ */
+public interface ClosedSet {
+
+	/**
+	 * This method adds a state to the set.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state, 0 up to 4x4.
+	 * 
+	 * @return True if the state was not in the set yet.
+	 */
+	boolean add(long state, long state_hi);
+
+	/**
+	 * This method checks if a state is in the set.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state, 0 up to 4x4.
+	 * 
+	 * @return Either the state is in the set or not.
+	 */
+	boolean contains(long state, long state_hi);
+
+	/**
+	 * This method gets the number of states in the set.
+	 * 
+	 * @return The size of the set.
+	 */
+	int size();
+
+	/**
+	 * This method creates the closed set best suited to the board's dimension.
+	 * 
+	 * @param board A board of the search.
+	 * 
+	 * @return An empty closed set.
+	 */
+	static ClosedSet of(Board board) {
+		if (board.get_dim() == 3) {
+			return new RankClosedSet();
+		}
+		return new HashClosedSet();
+	}
+}
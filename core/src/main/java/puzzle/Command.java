@@ -0,0 +1,104 @@
+package puzzle;
+
+/**
+ * One line of the command language, split into its name and arguments.
+ * 
+ * The commands are setState, move, randomizeState, uniformState, scrambleState, maxNodes, timeLimit, memoryLimit, externalDirectory,
+ * transpositionTable, openList, solutionCache, printCache, printService, printState and solve, one per line, and lines starting with # are comments.
+ */
+public class Command {
+	final long line;
+	final String text;
+	final String name;
+	final String[] args;
+
+	/**
+	 * @param line The line number in the command file, starting at 1.
+	 * @param text The whole line.
+	 * @param name The command, which is the first word.
+	 * @param args The words after the command.
+	 */
+	private Command(long line, String text, String name, String[] args) {
+		this.line = line;
+		this.text = text;
+		this.name = name;
+		this.args = args;
+	}
+
+	/**
+	 * This method parses one line.
+	 * 
+	 * @param line The line number in the command file, starting at 1.
+	 * @param text The line.
+	 * 
+	 * @return The command, or null if the line is blank or a comment.
+	 */
+	static Command parse(long line, String text) {
+		String stripped = text.strip();
+		if (stripped.isEmpty() || stripped.startsWith("#")) {
+			return null;
+		}
+		String[] words = stripped.split("\\s+");
+		String[] args = new String[words.length - 1];
+		System.arraycopy(words, 1, args, 0, args.length);
+		return new Command(line, text, words[0], args);
+	}
+
+	/**
+	 * This method gets an argument.
+	 * 
+	 * @param i The index of the argument, starting at 0.
+	 * 
+	 * @return The argument.
+	 * @throws IllegalArgumentException When the command has no such argument.
+	 */
+	String arg(int i) {
+		if (i >= args.length) {
+			throw new IllegalArgumentException("MISSING ARGUMENT " + (i + 1) + " OF " + name);
+		}
+		return args[i];
+	}
+
+	/**
+	 * This method gets an argument as a number.
+	 * 
+	 * @param i The index of the argument, starting at 0.
+	 * 
+	 * @return The number.
+	 * @throws IllegalArgumentException When the command has no such argument or it is not a number.
+	 */
+	int int_arg(int i) {
+		String value = arg(i);
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("INVALID NUMBER " + value + " FOR " + name);
+		}
+	}
+
+	/**
+	 * This method gets an argument as a long number, such as a time in milliseconds or a number of bytes.
+	 * 
+	 * @param i The index of the argument, starting at 0.
+	 * 
+	 * @return The number.
+	 * @throws IllegalArgumentException When the command has no such argument or it is not a number.
+	 */
+	long long_arg(int i) {
+		String value = arg(i);
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("INVALID NUMBER " + value + " FOR " + name);
+		}
+	}
+
+	/**
+	 * This method gets everything after the command, such as the state of setState.
+	 * 
+	 * @return The rest of the line, without surrounding whitespace.
+	 */
+	String rest() {
+		return String.join(" ", args);
+	}
+}
@@ -0,0 +1,299 @@
+package puzzle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs a stream of commands against one board and one solver, reporting each command to a ResultWriter.
+ * 
+ * The board is kept as a root board after every command, so its history of moves is not held in
+ * memory and a solution is the path from the board it was solved from. This keeps a command log
+ * of any length in constant memory.
+ */
+public class CommandProcessor {
+	private final Solver solver = new Solver();
+	private final ResultWriter writer;
+	// split for every command that is not given a seed, so sessions never share a generator and a command log replays the same boards
+	private final SplittableRandom random = new SplittableRandom(12345);
+	// the service that runs the solve commands, or null to run them on the calling thread
+	private final SolverService service;
+	// tells the service, while a solve command waits for it, whether the client has gone away
+	private final BooleanSupplier hung_up;
+	private SolutionCache cache;
+	//keeping goal state here to prevent errors in instantiation, will setState from file.
+	private Board board = new Board("b12 345 678");
+
+	/**
+	 * @param writer Where every command is reported.
+	 */
+	CommandProcessor(ResultWriter writer) {
+		this(writer, null, null, () -> false);
+	}
+
+	/**
+	 * @param writer Where every command is reported.
+	 * @param service The service that runs the solve commands on its workers, or null to run them on the calling thread.
+	 * @param cache The solution cache to start with, or null.
+	 * @param hung_up Whether the client of the service has gone away, checked while a solve command waits.
+	 */
+	CommandProcessor(ResultWriter writer, SolverService service, SolutionCache cache, BooleanSupplier hung_up) {
+		this.writer = writer;
+		this.service = service;
+		this.hung_up = hung_up;
+		this.cache = cache;
+		solver.quiet();
+		solver.solution_cache(cache);
+	}
+
+	/**
+	 * This method sets the token other threads can use to cancel the solve commands of this processor,
+	 * whether they run on the calling thread or on a worker of the service.
+	 * 
+	 * @param token The token, or null.
+	 */
+	void cancellation(CancellationToken token) {
+		solver.cancellation(token);
+	}
+
+	/**
+	 * This method runs every command of a stream in order and flushes the writer at the end.
+	 * 
+	 * @param commands The commands.
+	 * 
+	 * @throws IOException When the results can not be written.
+	 */
+	void run(Stream<Command> commands) throws IOException {
+		try {
+			Iterator<Command> iterator = commands.iterator();
+			while (iterator.hasNext()) {
+				if (!process(iterator.next())) {
+					break;
+				}
+			}
+		} finally {
+			writer.flush();
+		}
+	}
+
+	/**
+	 * This method runs one command. A command with missing or invalid arguments is reported as an error
+	 * and skipped, except for setState, where an invalid state ends the run as it always has.
+	 * 
+	 * @param command The command.
+	 * 
+	 * @return Either the following commands should run or not.
+	 * @throws IOException When the results can not be written.
+	 */
+	boolean process(Command command) throws IOException {
+		writer.command(command);
+		try {
+			switch (command.name) {
+			case "maxNodes":
+				int nodes = command.int_arg(0);
+				writer.message("\t" + "SETTING MAX NODE = " + nodes);
+				solver.max_nodes(nodes);
+				writer.message("MAX NODE SET TO " + nodes);
+				break;
+			case "timeLimit":
+				long ms = command.long_arg(0);
+				writer.message("\t" + "SETTING TIME LIMIT = " + ms);
+				solver.time_limit(ms);
+				writer.message("TIME LIMIT SET TO " + ms + " MS");
+				break;
+			case "memoryLimit":
+				long bytes = command.long_arg(0);
+				writer.message("\t" + "SETTING MEMORY LIMIT = " + bytes);
+				solver.memory_limit(bytes);
+				writer.message("MEMORY LIMIT SET TO " + bytes + " BYTES");
+				break;
+			case "externalDirectory":
+				String directory = command.rest();
+				writer.message("\t" + "SETTING EXTERNAL DIRECTORY = " + directory);
+				solver.external_directory(Paths.get(directory));
+				writer.message("EXTERNAL DIRECTORY SET TO " + directory);
+				break;
+			case "transpositionTable":
+				int entries = command.int_arg(0);
+				writer.message("\t" + "SETTING TRANSPOSITION TABLE = " + entries);
+				solver.transposition_table(entries);
+				writer.message("TRANSPOSITION TABLE SET TO " + entries);
+				break;
+			case "openList":
+				String type = command.arg(0);
+				writer.message("\t" + "SETTING OPEN LIST = " + type);
+				solver.open_list(type);
+				writer.message("OPEN LIST SET TO " + type);
+				break;
+			case "move":
+				String dir = command.arg(0);
+				writer.message("\t" + "MOVING BLANK TILE " + dir.toUpperCase());
+				board = board.move(dir).copy();
+				break;
+			case "setState":
+				String state = command.rest();
+				if (state.isBlank() || state.replace(" ", "").equals("b12345678")) {
+					writer.error(command, "CAN NOT SETSTATE = " + state);
+					return false;
+				}
+				try {
+					board = new Board(state);
+				} catch (IllegalArgumentException e) {
+					writer.error(command, "CAN NOT SETSTATE = " + state);
+					return false;
+				}
+				writer.message("\t" + "SETTING STATE = " + Arrays.deepToString(board.to_array()));
+				break;
+			case "printState":
+				writer.state(command, board);
+				break;
+			case "randomizeState":
+				int n = command.int_arg(0);
+				writer.message("\t" + "RANDOMIZING STATE WITH N = " + n);
+				board = board.randomizeState(n, random.split());
+				break;
+			case "uniformState":
+				long uniform_seed = command.args.length > 0 ? command.long_arg(0) : random.split().nextLong();
+				writer.message("\t" + "DRAWING UNIFORM STATE WITH SEED = " + uniform_seed);
+				board = StateGenerator.uniform(board.get_dim(), new SplittableRandom(uniform_seed));
+				break;
+			case "scrambleState":
+				int distance = command.int_arg(0);
+				long scramble_seed = command.args.length > 1 ? command.long_arg(1) : random.split().nextLong();
+				writer.message("\t" + "SCRAMBLING STATE WITH DISTANCE = " + distance + " AND SEED = " + scramble_seed);
+				board = StateGenerator.at_distance(board.get_dim(), distance, new SplittableRandom(scramble_seed));
+				break;
+			case "solutionCache":
+				int capacity = command.int_arg(0);
+				writer.message("\t" + "SETTING SOLUTION CACHE = " + capacity);
+				cache = capacity > 0 ? new SolutionCache(capacity) : null;
+				solver.solution_cache(cache);
+				break;
+			case "printCache":
+				if (cache == null) {
+					writer.error(command, "NO SOLUTION CACHE");
+				} else {
+					writer.cache(command, cache);
+				}
+				break;
+			case "solve":
+				if (service == null) {
+					writer.result(command, solve(command));
+				} else {
+					// the board and solver are only used by the worker while this thread waits for it
+					writer.result(command, service.submit(() -> solve(command), board.get_h2(), hung_up));
+				}
+				break;
+			case "printService":
+				if (service == null) {
+					writer.error(command, "NOT RUNNING AS A SERVICE");
+				} else {
+					writer.service(command, service);
+				}
+				break;
+			default:
+				writer.error(command, "UNKNOWN COMMAND " + command.name);
+			}
+		} catch (IllegalArgumentException e) {
+			writer.error(command, e.getMessage());
+		} catch (UncheckedIOException e) {
+			writer.error(command, "I/O ERROR " + e.getCause().getMessage());
+		}
+		return true;
+	}
+
+	/**
+	 * This method runs the search a solve command asks for on the current board.
+	 * 
+	 * @param command The solve command, such as "solve A-star h2", "solve HDA-star pdb 4", "solve beam 5"
+	 *                "solve stochastic-beam 5 2.0 [seed]", "solve external pdb" or "solve ARA-star h2 100 [initial weight] [step]".
+	 * 
+	 * @return The result of the search.
+	 * @throws IllegalArgumentException When the method or heuristic is unknown.
+	 */
+	private SearchResult solve(Command command) {
+		String method = command.arg(0);
+		switch (method) {
+		case "A-star":
+			Heuristic heuristic = heuristic(command.arg(1));
+			if (heuristic == Heuristic.H1) {
+				return solver.astar_h1(board);
+			} else if (heuristic == Heuristic.H2) {
+				return solver.astar_h2(board);
+			} else if (heuristic == Heuristic.LC) {
+				return solver.astar_lc(board);
+			} else if (heuristic == Heuristic.WD) {
+				return solver.astar_wd(board);
+			}
+			return solver.astar_pdb(board);
+		case "IDA-star":
+			return solver.ida(board, heuristic(command.arg(1)));
+		case "HDA-star":
+			int threads = Runtime.getRuntime().availableProcessors();
+			if (command.args.length > 2) {
+				threads = command.int_arg(2);
+			}
+			return solver.hda(board, heuristic(command.arg(1)), threads);
+		case "bidirectional":
+			return solver.bidirectional(board, heuristic(command.arg(1)));
+		case "ARA-star":
+			double initial_weight = command.args.length > 3 ? number(command.arg(3)) : 3;
+			double step = command.args.length > 4 ? number(command.arg(4)) : 0.5;
+			return solver.anytime(board, heuristic(command.arg(1)), command.long_arg(2), initial_weight, step);
+		case "external":
+			return solver.external(board, heuristic(command.arg(1)));
+		case "oracle":
+			return solver.oracle(board);
+		case "beam":
+			return solver.beam(board, command.int_arg(1));
+		case "stochastic-beam":
+			double temperature = number(command.arg(2));
+			long seed = command.args.length > 3 ? command.long_arg(3) : random.split().nextLong();
+			return solver.stochastic_beam(board, command.int_arg(1), temperature, seed);
+		default:
+			throw new IllegalArgumentException("UNKNOWN SEARCH " + method);
+		}
+	}
+
+	/**
+	 * This method reads a decimal argument of a solve command.
+	 * 
+	 * @param value The argument.
+	 * 
+	 * @return The number.
+	 */
+	private static double number(String value) {
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("INVALID NUMBER " + value);
+		}
+	}
+
+	/**
+	 * This method reads the heuristic argument of a solve command.
+	 * 
+	 * @param name The argument, which contains h1, h2, pdb, lc or wd.
+	 * 
+	 * @return The heuristic.
+	 */
+	private static Heuristic heuristic(String name) {
+		if (name.contains("h1")) {
+			return Heuristic.H1;
+		} else if (name.contains("h2")) {
+			return Heuristic.H2;
+		} else if (name.contains("pdb")) {
+			return Heuristic.PDB;
+		} else if (name.contains("lc")) {
+			return Heuristic.LC;
+		} else if (name.contains("wd")) {
+			return Heuristic.WD;
+		}
+		throw new IllegalArgumentException("UNKNOWN HEURISTIC " + name);
+	}
+}
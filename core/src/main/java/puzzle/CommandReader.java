@@ -0,0 +1,67 @@
+package puzzle;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads commands lazily from a command file or stdin. Only the next line is held in memory, so a
+ * command log of any length is processed in constant memory. Blank lines and comments are skipped,
+ * but still counted, so every command keeps the line number it has in the file.
+ */
+public class CommandReader implements Iterator<Command>, Closeable {
+	private final BufferedReader reader;
+	private long line = 0;
+	private Command next;
+
+	/**
+	 * @param reader The command file or stdin.
+	 */
+	CommandReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public boolean hasNext() {
+		try {
+			String text;
+			while (next == null && (text = reader.readLine()) != null) {
+				next = Command.parse(++line, text);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return next != null;
+	}
+
+	@Override
+	public Command next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Command command = next;
+		next = null;
+		return command;
+	}
+
+	/**
+	 * This method gets the remaining commands as a sequential stream, which reads the file as it is consumed.
+	 * 
+	 * @return The stream.
+	 */
+	Stream<Command> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
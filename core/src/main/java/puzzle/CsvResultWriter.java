@@ -0,0 +1,142 @@
+package puzzle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes one CSV row for every printState, solve and failed command, under a header row. Columns that
+ * do not apply to a row are left empty, and a failed command has the outcome ERROR with the reason
+ * in the detail column.
+ */
+public class CsvResultWriter implements ResultWriter {
+	private static final String header = "line,command,algorithm,outcome,length,generated,expanded,duplicates,peak_open,peak_closed,wall_ns,cpu_ns,detail";
+	private final BufferedWriter out;
+
+	/**
+	 * @param out The stream to write to.
+	 */
+	CsvResultWriter(OutputStream out) {
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+		try {
+			this.out.write(header);
+			this.out.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void command(Command command) {
+		// only results are written
+	}
+
+	@Override
+	public void message(String message) {
+		// only results are written
+	}
+
+	@Override
+	public void state(Command command, Board board) throws IOException {
+		row(command, "", "", "", "", "", "", "", "", "", "", board.get_state_arr());
+	}
+
+	@Override
+	public void result(Command command, SearchResult result) throws IOException {
+		List<String> path = result.get_path();
+		row(command, result.get_algorithm(), result.get_outcome().name(),
+				path == null ? "-1" : Integer.toString(path.size()),
+				Long.toString(result.get_generated()),
+				Long.toString(result.get_expanded()),
+				Long.toString(result.get_duplicates()),
+				Long.toString(result.get_peak_open()),
+				Long.toString(result.get_peak_closed()),
+				Long.toString(result.get_wall_time()),
+				Long.toString(result.get_cpu_time()),
+				path != null ? String.join(" ", path) + served(result) : detail(result) + served(result));
+	}
+
+	/**
+	 * This method describes where an unsolved search stopped, such as "limit=TIME best=b12 345 678 h=0".
+	 */
+	private static String detail(SearchResult result) {
+		StringBuilder detail = new StringBuilder();
+		if (result.get_limit() != null) {
+			detail.append("limit=").append(result.get_limit().name());
+		}
+		if (result.get_best() != null) {
+			detail.append(detail.length() > 0 ? " " : "").append("best=").append(result.get_best().get_state_arr())
+					.append(" h=").append(result.get_best().get_h());
+		}
+		return detail.toString();
+	}
+
+	/**
+	 * This method describes how a SolverService ran the search, such as " queue_ns=1200 solve_ns=53000".
+	 */
+	private static String served(SearchResult result) {
+		if (result.get_queue_wait() < 0) {
+			return "";
+		}
+		return " queue_ns=" + result.get_queue_wait() + " solve_ns=" + result.get_solve_time();
+	}
+
+	@Override
+	public void cache(Command command, SolutionCache cache) throws IOException {
+		row(command, "", "", "", "", "", "", "", "", "", "", "size=" + cache.size() + " hits=" + cache.get_hits()
+				+ " misses=" + cache.get_misses() + " evictions=" + cache.get_evictions());
+	}
+
+	@Override
+	public void service(Command command, SolverService service) throws IOException {
+		row(command, "", "", "", "", "", "", "", "", "", "", "connections=" + service.get_connections() + " served="
+				+ service.get_served() + " batches=" + service.get_batches() + " mean_queue_ns=" + service.get_mean_queue_wait()
+				+ " max_queue_ns=" + service.get_max_queue_wait() + " mean_solve_ns=" + service.get_mean_solve_time());
+	}
+
+	@Override
+	public void error(Command command, String error) throws IOException {
+		row(command, "", "ERROR", "", "", "", "", "", "", "", "", error);
+	}
+
+	/**
+	 * This method writes one row, starting with the line number and the command.
+	 */
+	private void row(Command command, String... values) throws IOException {
+		out.write(Long.toString(command.line));
+		out.write(',');
+		cell(command.name);
+		for (String value : values) {
+			out.write(',');
+			cell(value);
+		}
+		out.newLine();
+	}
+
+	/**
+	 * This method writes one cell, quoted if it contains a comma, a quote or a line break.
+	 */
+	private void cell(String value) throws IOException {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			out.write(value);
+			return;
+		}
+		out.write('"');
+		out.write(value.replace("\"", "\"\""));
+		out.write('"');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,67 @@
+package puzzle;
+
+/**
+ * The four moves of the blank tile. The code of a move is its ordinal, and a move and its inverse differ
+ * only in the lowest bit, so undoing the move with code c is the move with code c ^ 1.
+ */
+public enum Direction {
+	UP("up"), DOWN("down"), LEFT("left"), RIGHT("right");
+
+	private static final Direction[] codes = values();
+
+	private final String name;
+
+	private Direction(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * This method gets the code of the move, as stored in a Board, a NodeArena or a move table.
+	 * 
+	 * @return 0 to 3 for up, down, left and right.
+	 */
+	int code() {
+		return ordinal();
+	}
+
+	/**
+	 * This method gets the move that undoes this one.
+	 * 
+	 * @return The opposite direction.
+	 */
+	Direction inverse() {
+		return codes[ordinal() ^ 1];
+	}
+
+	/**
+	 * This method gets the direction of a move code.
+	 * 
+	 * @param code The move, 0 to 3.
+	 * 
+	 * @return The direction.
+	 */
+	static Direction of(int code) {
+		return codes[code];
+	}
+
+	/**
+	 * This method parses a direction by its name.
+	 * 
+	 * @param name One of up, down, left or right.
+	 * 
+	 * @return The direction.
+	 */
+	static Direction of(String name) {
+		for (Direction direction : codes) {
+			if (direction.name.equals(name)) {
+				return direction;
+			}
+		}
+		throw new IllegalArgumentException("INVALID DIRECTION");
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
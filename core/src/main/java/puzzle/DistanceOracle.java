@@ -0,0 +1,152 @@
+package puzzle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The exact distance to the goal of every solvable 3x3 state, indexed by Permutation.rank(long).
+ * Each entry is one byte holding the distance in the low 5 bits, since no state is more than 31 moves
+ * away, and in the next 2 bits the move of the blank tile that brings the state one step closer.
+ * The 181,440 entries are generated once by a breadth-first search from the goal, written to
+ * oracle_3.bin in the working directory, and memory-mapped on later runs, so a solve is a table walk.
+ */
+public class DistanceOracle {
+	private static final int magic = 0x4F524331;
+	private static DistanceOracle instance;
+
+	private final ByteBuffer table;
+	private final int offset;
+
+	/**
+	 * @param table The mapped file.
+	 * @param offset The position of the first entry in the file.
+	 */
+	private DistanceOracle(ByteBuffer table, int offset) {
+		this.table = table;
+		this.offset = offset;
+	}
+
+	/**
+	 * This method gets the shared oracle, loading or generating it on first use.
+	 * 
+	 * @return The oracle.
+	 */
+	static synchronized DistanceOracle get() {
+		if (instance == null) {
+			try {
+				instance = load(Paths.get("oracle_3.bin"));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * This method maps the oracle file, generating it first if it does not exist yet.
+	 * 
+	 * @param file The oracle file.
+	 * 
+	 * @return The oracle.
+	 * @throws IOException
+	 */
+	static DistanceOracle load(Path file) throws IOException {
+		if (!Files.exists(file)) {
+			generate(file);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != magic || buffer.getInt() != Permutation.rank_count || buffer.limit() != 8 + Permutation.rank_count) {
+				throw new IOException("INVALID ORACLE " + file);
+			}
+			return new DistanceOracle(buffer, 8);
+		}
+	}
+
+	/**
+	 * This method gets the exact number of moves from a solvable 3x3 state to the goal.
+	 * 
+	 * @param state The packed state.
+	 * 
+	 * @return The distance.
+	 */
+	int distance(long state) {
+		return table.get(offset + Permutation.rank(state)) & 0x1F;
+	}
+
+	/**
+	 * This method gets the exact number of moves to the goal of the state with the given index, so a
+	 * caller can scan every solvable 3x3 state without unranking them.
+	 * 
+	 * @param index The index of the state, as computed by Permutation.rank(long).
+	 * 
+	 * @return The distance.
+	 */
+	int distance_at(int index) {
+		return table.get(offset + index) & 0x1F;
+	}
+
+	/**
+	 * This method gets the move of the blank tile that brings a solvable 3x3 state one step closer to the goal.
+	 * 
+	 * @param state The packed state, which must not be the goal.
+	 * 
+	 * @return The move code, 0 to 3 for up, down, left and right.
+	 */
+	int best_move(long state) {
+		return (table.get(offset + Permutation.rank(state)) >>> 5) & 0x3;
+	}
+
+	/**
+	 * This method generates every entry with a breadth-first search from the goal and writes the oracle file.
+	 * 
+	 * @param file The oracle file.
+	 * @throws IOException
+	 */
+	static void generate(Path file) throws IOException {
+		byte[] entries = new byte[Permutation.rank_count];
+		Arrays.fill(entries, (byte) -1);
+		Board[] queue = new Board[Permutation.rank_count];
+		int head = 0;
+		int tail = 0;
+		Board goal = new Board(Board.goal(3));
+		entries[Permutation.rank(goal.get_state())] = 0;
+		queue[tail++] = goal;
+		while (head < tail) {
+			Board board = queue[head];
+			queue[head++] = null;
+			int distance = entries[Permutation.rank(board.get_state())] & 0x1F;
+			for (int code = 0; code < 4; code++) {
+				Board child = board.copy();
+				if (!child.make_move(code)) {
+					continue;
+				}
+				int rank = Permutation.rank(child.get_state());
+				if (entries[rank] != -1) {
+					continue;
+				}
+				// undoing the move leads back towards the goal
+				entries[rank] = (byte) ((distance + 1) | ((code ^ 1) << 5));
+				queue[tail++] = child;
+			}
+		}
+		Path temp = Paths.get(file + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+			out.writeInt(magic);
+			out.writeInt(Permutation.rank_count);
+			out.write(entries);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+}
@@ -0,0 +1,484 @@
+package puzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Breadth-first iterative deepening A-star (BFIDA*) with its frontier on disk. Each iteration is a
+ * breadth-first search that prunes every node whose f(n) is above a bound, and the bound starts at h(n)
+ * of the start board and rises to the lowest pruned f(n) until the goal is reached, which makes the
+ * solution optimal with the admissible heuristics.
+ * 
+ * Every layer of the search is a file of sorted packed states, one long each, so only boards up to 4x4
+ * are supported. A layer is read through memory-mapped windows, and its children are collected in a
+ * buffer of fixed size that is sorted and written out as a run whenever it fills up. The runs are then
+ * merged into the next layer, which drops the states that appear in several runs or in the layer before
+ * the parents. No other duplicate can occur, since every move changes the parity of the blank's cell and
+ * a state is never more than one move further than its neighbours. The heap only holds the run buffer
+ * and a window per run, and the disk is only read and written sequentially.
+ * 
+ * The path is rebuilt backwards from the goal: the parent of a state in a layer is the neighbour found
+ * by binary search in the layer before it.
+ */
+public class ExternalSearch {
+	// longs mapped at a time by each reader
+	private static final int window = 1 << 20;
+	private static final int found = -1;
+	private static final int write_buffer = 1 << 16;
+
+	private final Heuristic heuristic;
+	private final Budget budget;
+	private final Path directory;
+	private final long[] buffer;
+	private int dim;
+	private int buffered = 0;
+	private final List<Path> runs = new ArrayList<Path>();
+	private int files = 0;
+	private long generated = 0;
+	private long expanded = 0;
+	private long duplicates = 0;
+	private long peak_open = 0;
+	private long peak_closed = 0;
+	private int iterations = 0;
+	private Budget.Limit limit;
+	private List<String> best;
+	private int best_h;
+
+	/**
+	 * @param heuristic The heuristic used for h(n).
+	 * @param budget The limits of the search. Only the run buffer is held in memory, so the memory limit
+	 *               does not apply and the size of the buffer is chosen instead.
+	 * @param directory The directory in which the layer files are kept while the search runs.
+	 * @param run_size The number of states the run buffer holds.
+	 */
+	ExternalSearch(Heuristic heuristic, Budget budget, Path directory, int run_size) {
+		if (run_size < 1) {
+			throw new IllegalArgumentException("INVALID RUN SIZE " + run_size);
+		}
+		this.heuristic = heuristic;
+		this.budget = budget;
+		this.directory = directory;
+		this.buffer = new long[run_size];
+	}
+
+	/**
+	 * This method runs the search. The files are deleted when it ends.
+	 * 
+	 * @param board The start board, which has to be solvable and at most 4x4.
+	 * 
+	 * @return The moves from the start board to the goal, or null if the budget ran out.
+	 * @throws IOException When the layer files can not be written or read.
+	 */
+	List<String> solve(Board board) throws IOException {
+		if (board.get_dim() > 4) {
+			throw new IllegalArgumentException("EXTERNAL SEARCH ONLY SUPPORTS BOARDS UP TO 4x4");
+		}
+		dim = board.get_dim();
+		Board start = board.copy();
+		start.find_h(heuristic);
+		best = new ArrayList<String>();
+		best_h = start.get_h();
+		limit = null;
+		buffered = 0;
+		runs.clear();
+		iterations = 0;
+		generated = 1;
+		expanded = 0;
+		duplicates = 0;
+		peak_open = 1;
+		peak_closed = 1;
+		if (start.isGoal()) {
+			return new ArrayList<String>();
+		}
+		Path root = Files.createTempDirectory(directory, "frontier");
+		try {
+			int bound = start.get_h();
+			while (true) {
+				iterations++;
+				List<Path> layers = new ArrayList<Path>();
+				try (Writer writer = new Writer(root.resolve("layer-0"))) {
+					writer.write(start.get_state());
+				}
+				layers.add(root.resolve("layer-0"));
+				int next = iterate(layers, bound, root);
+				if (next == found) {
+					return best;
+				}
+				if (limit != null) {
+					return null;
+				}
+				if (next == Integer.MAX_VALUE) {
+					// nothing was pruned, so the goal is not reachable
+					return null;
+				}
+				for (Path layer : layers) {
+					Files.delete(layer);
+				}
+				bound = next;
+			}
+		} finally {
+			delete(root);
+		}
+	}
+
+	/**
+	 * This method runs one breadth-first iteration, writing a layer file per depth.
+	 * 
+	 * @param layers The layer files, holding layer 0 on entry.
+	 * @param bound The largest f(n) that is not pruned.
+	 * @param root The directory of the files.
+	 * 
+	 * @return found if the goal was reached, in which case best holds the solution, otherwise the lowest
+	 *         pruned f(n), or Integer.MAX_VALUE if nothing was pruned or the budget ran out.
+	 * @throws IOException
+	 */
+	private int iterate(List<Path> layers, int bound, Path root) throws IOException {
+		int next = Integer.MAX_VALUE;
+		long stored = 1;
+		for (int g = 0; ; g++) {
+			try (Reader parents = new Reader(layers.get(g))) {
+				while (parents.advance()) {
+					Board parent = Board.unpack(dim, parents.value, 0);
+					parent.find_h(heuristic);
+					if (parent.get_h() < best_h) {
+						best_h = parent.get_h();
+						best = path(layers, g, parent.get_state());
+					}
+					expanded++;
+					for (int code = 0; code < 4; code++) {
+						if (!parent.make_move(code)) {
+							continue;
+						}
+						parent.find_h(heuristic);
+						int f = g + 1 + parent.get_h();
+						if (f > bound) {
+							next = Math.min(next, f);
+						} else if (parent.isGoal()) {
+							best = path(layers, g, parents.value);
+							best.add(Board.direction(code));
+							return found;
+						} else {
+							add(root, parent.get_state());
+							limit = budget.check(++generated, 0);
+							if (limit != null) {
+								clear_runs();
+								return Integer.MAX_VALUE;
+							}
+						}
+						parent.unmake_move(code);
+					}
+				}
+			}
+			Path layer = root.resolve("layer-" + (g + 1));
+			long size = merge(g > 0 ? layers.get(g - 1) : null, layer);
+			if (size == 0) {
+				Files.delete(layer);
+				return next;
+			}
+			layers.add(layer);
+			stored += size;
+			peak_open = Math.max(peak_open, size);
+			peak_closed = Math.max(peak_closed, stored);
+		}
+	}
+
+	/**
+	 * This method adds a child to the run buffer, writing the buffer out as a sorted run when it is full.
+	 */
+	private void add(Path root, long state) throws IOException {
+		if (buffered == buffer.length) {
+			flush(root);
+		}
+		buffer[buffered++] = state;
+	}
+
+	/**
+	 * This method sorts the run buffer, drops its duplicates and writes it to a new run file.
+	 */
+	private void flush(Path root) throws IOException {
+		Arrays.sort(buffer, 0, buffered);
+		Path run = root.resolve("run-" + files++);
+		try (Writer writer = new Writer(run)) {
+			for (int i = 0; i < buffered; i++) {
+				if (i > 0 && buffer[i] == buffer[i - 1]) {
+					duplicates++;
+				} else {
+					writer.write(buffer[i]);
+				}
+			}
+		}
+		runs.add(run);
+		buffered = 0;
+	}
+
+	/**
+	 * This method merges the runs into the next layer and deletes them. A state is written once, and not
+	 * at all if it is in the previous layer.
+	 * 
+	 * @param previous The layer before the parents, or null for the children of the start board.
+	 * @param layer The file of the next layer.
+	 * 
+	 * @return The number of states in the next layer.
+	 * @throws IOException
+	 */
+	private long merge(Path previous, Path layer) throws IOException {
+		if (buffered > 0) {
+			flush(layer.getParent());
+		}
+		PriorityQueue<Reader> heads = new PriorityQueue<Reader>(Math.max(1, runs.size()), Comparator.comparingLong((Reader reader) -> reader.value));
+		Reader seen = previous == null ? null : new Reader(previous);
+		long size = 0;
+		try (Writer writer = new Writer(layer)) {
+			for (Path run : runs) {
+				Reader reader = new Reader(run);
+				if (reader.advance()) {
+					heads.add(reader);
+				} else {
+					reader.close();
+				}
+			}
+			boolean more = seen != null && seen.advance();
+			long last = 0;
+			boolean first = true;
+			while (!heads.isEmpty()) {
+				Reader head = heads.poll();
+				long state = head.value;
+				if (head.advance()) {
+					heads.add(head);
+				} else {
+					head.close();
+				}
+				if (!first && state == last) {
+					duplicates++;
+					continue;
+				}
+				first = false;
+				last = state;
+				while (more && seen.value < state) {
+					more = seen.advance();
+				}
+				if (more && seen.value == state) {
+					duplicates++;
+					continue;
+				}
+				writer.write(state);
+				size++;
+			}
+		} finally {
+			for (Reader head : heads) {
+				head.close();
+			}
+			if (seen != null) {
+				seen.close();
+			}
+		}
+		clear_runs();
+		return size;
+	}
+
+	/**
+	 * This method deletes the run files and empties the run buffer.
+	 */
+	private void clear_runs() throws IOException {
+		for (Path run : runs) {
+			Files.deleteIfExists(run);
+		}
+		runs.clear();
+		buffered = 0;
+	}
+
+	/**
+	 * This method rebuilds the moves from the start board to a state, walking back through the layers.
+	 * 
+	 * @param layers The layer files of the current iteration.
+	 * @param g The layer the state is in.
+	 * @param state The packed state.
+	 * 
+	 * @return The moves.
+	 * @throws IOException
+	 */
+	private List<String> path(List<Path> layers, int g, long state) throws IOException {
+		LinkedList<String> path = new LinkedList<String>();
+		Board board = Board.unpack(dim, state, 0);
+		for (int d = g - 1; d >= 0; d--) {
+			for (int code = 0; code < 4; code++) {
+				if (!board.make_move(code)) {
+					continue;
+				}
+				if (contains(layers.get(d), board.get_state())) {
+					// the move from the parent undoes the one that found it
+					path.addFirst(Board.direction(code ^ 1));
+					break;
+				}
+				board.unmake_move(code);
+			}
+		}
+		return new ArrayList<String>(path);
+	}
+
+	/**
+	 * This method checks whether a sorted layer file holds a state, by binary search.
+	 */
+	private static boolean contains(Path layer, long state) throws IOException {
+		try (FileChannel channel = FileChannel.open(layer, StandardOpenOption.READ)) {
+			ByteBuffer value = ByteBuffer.allocate(Long.BYTES);
+			long low = 0;
+			long high = channel.size() / Long.BYTES - 1;
+			while (low <= high) {
+				long middle = (low + high) >>> 1;
+				value.clear();
+				channel.read(value, middle * Long.BYTES);
+				long found = value.getLong(0);
+				if (found < state) {
+					low = middle + 1;
+				} else if (found > state) {
+					high = middle - 1;
+				} else {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * This method deletes a directory and the files in it.
+	 */
+	private static void delete(Path root) throws IOException {
+		try (Stream<Path> files = Files.list(root)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(root);
+	}
+
+	/**
+	 * This method gets the limit the last search ran into.
+	 * 
+	 * @return The limit, or null if the search was not stopped.
+	 */
+	Budget.Limit get_limit() {
+		return limit;
+	}
+
+	/**
+	 * This method gets the moves to the board with the lowest h(n) expanded so far.
+	 * 
+	 * @return The moves from the start board.
+	 */
+	List<String> get_best() {
+		return best;
+	}
+
+	/**
+	 * This method gets the number of iterations of the last search, one per bound.
+	 * 
+	 * @return The number of iterations.
+	 */
+	int get_iterations() {
+		return iterations;
+	}
+
+	/**
+	 * This method copies the counters of the last search into a result. The peak open size is the largest
+	 * layer, and the peak closed size is the most states kept on disk at once, as neither is held in memory.
+	 * 
+	 * @param result The result to count into.
+	 */
+	void count(SearchResult result) {
+		result.generated = generated;
+		result.expanded = expanded;
+		result.duplicates = duplicates;
+		result.peak_open = peak_open;
+		result.peak_closed = peak_closed;
+	}
+
+	/**
+	 * A sorted file of packed states read in order through memory-mapped windows.
+	 */
+	private static class Reader implements Closeable {
+		private final FileChannel channel;
+		private final long count;
+		private long position = 0;
+		private LongBuffer mapped;
+		private long value;
+
+		Reader(Path file) throws IOException {
+			channel = FileChannel.open(file, StandardOpenOption.READ);
+			count = channel.size() / Long.BYTES;
+		}
+
+		/**
+		 * This method moves to the next state.
+		 * 
+		 * @return False if the file has no states left.
+		 */
+		boolean advance() throws IOException {
+			if (position == count) {
+				return false;
+			}
+			if (mapped == null || !mapped.hasRemaining()) {
+				long length = Math.min(window, count - position);
+				mapped = channel.map(FileChannel.MapMode.READ_ONLY, position * Long.BYTES, length * Long.BYTES).asLongBuffer();
+			}
+			value = mapped.get();
+			position++;
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	/**
+	 * A file of packed states written in order through a direct buffer.
+	 */
+	private static class Writer implements Closeable {
+		private final FileChannel channel;
+		private final ByteBuffer out = ByteBuffer.allocateDirect(write_buffer);
+
+		Writer(Path file) throws IOException {
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		}
+
+		void write(long state) throws IOException {
+			if (!out.hasRemaining()) {
+				drain();
+			}
+			out.putLong(state);
+		}
+
+		private void drain() throws IOException {
+			out.flip();
+			while (out.hasRemaining()) {
+				channel.write(out);
+			}
+			out.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				drain();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
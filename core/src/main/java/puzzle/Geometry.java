@@ -0,0 +1,210 @@
+package puzzle;
+
+import java.util.Arrays;
+
+/**
+ * The layout of an N x N board, shared by every Board of that dimension.
+ * 
+ * States are packed row major into a 128-bit value split across two longs, low word first, with a
+ * fixed number of bits per cell. Up to 4x4 a cell takes 4 bits, so the whole state fits in the low
+ * word and the high word is always 0. A 5x5 state needs 5 bits per cell, 125 bits in total, and the
+ * cell straddling bit 64 is split across both words. The blank tile is 0, and the goal places tile i
+ * in cell i, which is "b12 345 678" on a 3x3 board.
+ */
+public class Geometry {
+	static final int min_dim = 2;
+	static final int max_dim = 5;
+	private static final Geometry[] cache = new Geometry[max_dim + 1];
+
+	final int dim;
+	final int cells;
+	final int bits;
+	final long mask;
+	final long goal;
+	final long goal_hi;
+	// manhattan[tile][cell] is the distance from the cell to the tile's goal cell, 0 for the blank
+	final int[][] manhattan;
+	// neighbors[cell * 4 + code] is the cell the blank moves into from the cell, or -1 if it would leave the board
+	final int[] neighbors;
+	// successors[cell * 5 + previous + 1] are the codes of the moves from the cell that stay on the board and
+	// do not undo the previous move, which is -1 for a board with no previous move
+	final byte[][] successors;
+	// set by WalkingDistance.get before any Board of this dimension looks up its tables
+	volatile WalkingDistance walking_distance;
+
+	/**
+	 * This constructor builds the tables of the given dimension.
+	 * 
+	 * @param dim The number of rows and columns.
+	 */
+	private Geometry(int dim) {
+		this.dim = dim;
+		this.cells = dim * dim;
+		this.bits = dim <= 4 ? 4 : 5;
+		this.mask = (1L << bits) - 1;
+		long lo = 0;
+		long hi = 0;
+		for (int cell = 0; cell < cells; cell++) {
+			lo = place(lo, cell, cell);
+			hi = place_hi(hi, cell, cell);
+		}
+		this.goal = lo;
+		this.goal_hi = hi;
+		this.manhattan = new int[cells][cells];
+		for (int tile = 1; tile < cells; tile++) {
+			for (int cell = 0; cell < cells; cell++) {
+				manhattan[tile][cell] = Math.abs(tile / dim - cell / dim) + Math.abs(tile % dim - cell % dim);
+			}
+		}
+		this.neighbors = new int[cells * 4];
+		this.successors = new byte[cells * 5][];
+		for (int cell = 0; cell < cells; cell++) {
+			neighbors[cell * 4] = cell >= dim ? cell - dim : -1;
+			neighbors[cell * 4 + 1] = cell < cells - dim ? cell + dim : -1;
+			neighbors[cell * 4 + 2] = cell % dim != 0 ? cell - 1 : -1;
+			neighbors[cell * 4 + 3] = cell % dim != dim - 1 ? cell + 1 : -1;
+			for (int previous = -1; previous < 4; previous++) {
+				byte[] codes = new byte[4];
+				int count = 0;
+				for (int code = 0; code < 4; code++) {
+					if (neighbors[cell * 4 + code] >= 0 && (previous < 0 || code != (previous ^ 1))) {
+						codes[count++] = (byte) code;
+					}
+				}
+				successors[cell * 5 + previous + 1] = Arrays.copyOf(codes, count);
+			}
+		}
+	}
+
+	/**
+	 * This method gets the geometry of the given dimension.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * 
+	 * @return The shared geometry.
+	 */
+	static synchronized Geometry of(int dim) {
+		if (dim < min_dim || dim > max_dim) {
+			throw new IllegalArgumentException("UNSUPPORTED DIMENSION " + dim);
+		}
+		if (cache[dim] == null) {
+			cache[dim] = new Geometry(dim);
+		}
+		return cache[dim];
+	}
+
+	/**
+	 * This method gets the tile at the given cell of a packed state.
+	 * 
+	 * @param lo The low word of the state.
+	 * @param hi The high word of the state.
+	 * @param cell The cell index, row major.
+	 * 
+	 * @return The tile, 0 for the blank.
+	 */
+	int tile(long lo, long hi, int cell) {
+		int bit = cell * bits;
+		if (bit + bits <= 64) {
+			return (int) ((lo >>> bit) & mask);
+		}
+		if (bit >= 64) {
+			return (int) ((hi >>> (bit - 64)) & mask);
+		}
+		return (int) (((lo >>> bit) | (hi << (64 - bit))) & mask);
+	}
+
+	/**
+	 * This method places a tile into an empty cell of the low word.
+	 * 
+	 * @param lo The low word of the state.
+	 * @param cell The cell, which must hold 0.
+	 * @param tile The tile to place.
+	 * 
+	 * @return The new low word.
+	 */
+	long place(long lo, int cell, int tile) {
+		int bit = cell * bits;
+		return bit < 64 ? lo | ((long) tile << bit) : lo;
+	}
+
+	/**
+	 * This method places a tile into an empty cell of the high word.
+	 * 
+	 * @param hi The high word of the state.
+	 * @param cell The cell, which must hold 0.
+	 * @param tile The tile to place.
+	 * 
+	 * @return The new high word.
+	 */
+	long place_hi(long hi, int cell, int tile) {
+		int bit = cell * bits;
+		if (bit + bits <= 64) {
+			return hi;
+		}
+		return bit >= 64 ? hi | ((long) tile << (bit - 64)) : hi | ((long) tile >>> (64 - bit));
+	}
+
+	/**
+	 * This method empties a cell of the low word.
+	 * 
+	 * @param lo The low word of the state.
+	 * @param cell The cell to clear.
+	 * 
+	 * @return The new low word.
+	 */
+	long clear(long lo, int cell) {
+		int bit = cell * bits;
+		return bit < 64 ? lo & ~(mask << bit) : lo;
+	}
+
+	/**
+	 * This method empties a cell of the high word.
+	 * 
+	 * @param hi The high word of the state.
+	 * @param cell The cell to clear.
+	 * 
+	 * @return The new high word.
+	 */
+	long clear_hi(long hi, int cell) {
+		int bit = cell * bits;
+		if (bit + bits <= 64) {
+			return hi;
+		}
+		return bit >= 64 ? hi & ~(mask << (bit - 64)) : hi & ~(mask >>> (64 - bit));
+	}
+
+	/**
+	 * This method counts the linear conflicts of a row or column, in moves. Two tiles that both belong in
+	 * the line they are in, but in the wrong order, can not pass each other without one of them leaving
+	 * the line and coming back, which costs two moves beyond their Manhattan distances. The fewest tiles
+	 * that must leave are those outside the longest run of tiles already in increasing goal order.
+	 * 
+	 * @param lo The low word of the state.
+	 * @param hi The high word of the state.
+	 * @param rows Whether the line is a row or a column.
+	 * @param line The index of the row or column.
+	 * 
+	 * @return Two moves for every tile that has to leave the line.
+	 */
+	int conflicts(long lo, long hi, boolean rows, int line) {
+		// longest[k] is the longest increasing run ending with goal position k, 3 bits each in one int
+		int longest = 0;
+		int in_line = 0;
+		int lis = 0;
+		for (int i = 0; i < dim; i++) {
+			int tile = tile(lo, hi, rows ? line * dim + i : i * dim + line);
+			if (tile == 0 || (rows ? tile / dim : tile % dim) != line) {
+				continue;
+			}
+			int goal = rows ? tile % dim : tile / dim;
+			int length = 0;
+			for (int k = 0; k < goal; k++) {
+				length = Math.max(length, (longest >>> (3 * k)) & 7);
+			}
+			longest |= (length + 1) << (3 * goal);
+			lis = Math.max(lis, length + 1);
+			in_line++;
+		}
+		return 2 * (in_line - lis);
+	}
+}
@@ -0,0 +1,70 @@
+package puzzle;
+
+/**
+ * A closed set for boards of any dimension, backed by an open-addressing table of packed states with
+ * linear probing. A packed state always has a non-zero low word, since only one cell holds the blank,
+ * so 0 marks an empty slot and nothing is allocated per state.
+ */
+public class HashClosedSet implements ClosedSet {
+	private long[] keys = new long[1 << 10];
+	private long[] keys_hi = new long[1 << 10];
+	private int size = 0;
+
+	@Override
+	public boolean add(long state, long state_hi) {
+		if (2 * (size + 1) > keys.length) {
+			grow();
+		}
+		int mask = keys.length - 1;
+		int i = StateMap.hash(state, state_hi) & mask;
+		while (keys[i] != 0) {
+			if (keys[i] == state && keys_hi[i] == state_hi) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = state;
+		keys_hi[i] = state_hi;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean contains(long state, long state_hi) {
+		int mask = keys.length - 1;
+		int i = StateMap.hash(state, state_hi) & mask;
+		while (keys[i] != 0) {
+			if (keys[i] == state && keys_hi[i] == state_hi) {
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * This method doubles the table and reinserts every state.
+	 */
+	private void grow() {
+		long[] old_keys = keys;
+		long[] old_keys_hi = keys_hi;
+		keys = new long[old_keys.length * 2];
+		keys_hi = new long[old_keys.length * 2];
+		int mask = keys.length - 1;
+		for (int j = 0; j < old_keys.length; j++) {
+			if (old_keys[j] != 0) {
+				int i = StateMap.hash(old_keys[j], old_keys_hi[j]) & mask;
+				while (keys[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = old_keys[j];
+				keys_hi[i] = old_keys_hi[j];
+			}
+		}
+	}
+}
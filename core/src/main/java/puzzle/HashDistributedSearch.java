@@ -0,0 +1,271 @@
+package puzzle;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hash-distributed A-star (HDA*). Every state is owned by one worker thread, chosen by a hash of the
+ * packed state, and only its owner keeps it in an open list and a map of best g(n). A worker that
+ * generates a child owned by someone else posts it to the owner's lock-free mailbox.
+ * 
+ * A goal popped with a lower cost than the incumbent becomes the new incumbent, and every node whose
+ * f(n) is not below the incumbent is dropped. The search ends once no worker has anything left below
+ * the incumbent and no message is in flight, so with an admissible heuristic the incumbent is optimal.
+ */
+public class HashDistributedSearch {
+	private final Heuristic heuristic;
+	private final Budget budget;
+	private final Worker[] workers;
+	private final AtomicInteger incumbent = new AtomicInteger(Integer.MAX_VALUE);
+	private final AtomicLong generated = new AtomicLong(1);
+	// every message is counted when it is posted and again once its owner has processed it
+	private final AtomicLong sent = new AtomicLong();
+	private final AtomicLong processed = new AtomicLong();
+	private volatile boolean done = false;
+	private volatile Budget.Limit limit;
+	private Board solution;
+
+	/**
+	 * @param threads The number of workers.
+	 * @param heuristic The heuristic used for h(n).
+	 * @param budget The limits shared by all workers, where every generated node counts as stored.
+	 */
+	HashDistributedSearch(int threads, Heuristic heuristic, Budget budget) {
+		this.heuristic = heuristic;
+		this.budget = budget;
+		this.workers = new Worker[Math.max(1, threads)];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Worker(i);
+		}
+	}
+
+	/**
+	 * This method runs the search on the worker threads and waits for it to finish.
+	 * 
+	 * @param board The initial board.
+	 * 
+	 * @return The goal board with the lowest cost, or null if there is no solution or the budget ran out.
+	 *         Interrupting the calling thread stops the workers, and the interrupt flag is kept.
+	 */
+	Board solve(Board board) {
+		board.find_h(heuristic);
+		board.set_f();
+		sent.incrementAndGet();
+		workers[owner(board)].mailbox.add(board);
+		Thread[] threads = new Thread[workers.length];
+		for (int i = 0; i < workers.length; i++) {
+			threads[i] = new Thread(workers[i], "hda-worker-" + i);
+			threads[i].start();
+		}
+		boolean interrupted = false;
+		for (Thread thread : threads) {
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+					stop(Budget.Limit.CANCELLED);
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (limit != null) {
+			return null;
+		}
+		return solution;
+	}
+
+	/**
+	 * This method gets the limit the last search ran into.
+	 * 
+	 * @return The limit, or null if the search was not stopped.
+	 */
+	Budget.Limit get_limit() {
+		return limit;
+	}
+
+	/**
+	 * This method gets the board with the lowest h(n) that any worker expanded.
+	 * 
+	 * @return The board, or null if nothing was expanded.
+	 */
+	Board get_best() {
+		Board best = null;
+		for (Worker worker : workers) {
+			if (worker.best != null && (best == null || worker.best.get_h() < best.get_h())) {
+				best = worker.best;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * This method stops every worker, keeping the first limit that was reached.
+	 */
+	private synchronized void stop(Budget.Limit reached) {
+		if (limit == null) {
+			limit = reached;
+		}
+		done = true;
+	}
+
+	/**
+	 * This method adds up the counters of all workers after a search. The peak sizes are the sums of
+	 * each worker's peak, which bounds the peak of the whole search from above.
+	 * 
+	 * @param result The result to count into.
+	 */
+	void count(SearchResult result) {
+		result.generated = generated.get();
+		for (Worker worker : workers) {
+			result.expanded += worker.expanded;
+			result.duplicates += worker.duplicates;
+			result.peak_open += worker.peak_open;
+			result.peak_closed += worker.best_g.size();
+			result.add_cpu_time(worker.cpu_time);
+		}
+	}
+
+	/**
+	 * This method picks the worker that owns a board's state.
+	 */
+	private int owner(Board board) {
+		return Math.floorMod(StateMap.hash(board.get_state(), board.get_state_hi()), workers.length);
+	}
+
+	/**
+	 * This method offers a goal board as the new incumbent.
+	 */
+	private synchronized void offer_solution(Board goal) {
+		if (goal.get_g() < incumbent.get()) {
+			solution = goal;
+			incumbent.set(goal.get_g());
+		}
+	}
+
+	/**
+	 * This method checks whether the search is over: every message posted so far has been processed,
+	 * every worker is idle, and nothing was posted while the flags were being read. Idle workers only
+	 * become busy again by receiving a message, so once no message is in flight the search can not resume.
+	 */
+	private boolean terminated() {
+		long processed_before = processed.get();
+		long sent_before = sent.get();
+		if (processed_before != sent_before) {
+			return false;
+		}
+		for (Worker worker : workers) {
+			if (!worker.idle) {
+				return false;
+			}
+		}
+		return sent.get() == sent_before;
+	}
+
+	/**
+	 * A worker thread with its own open list and map of best g(n).
+	 */
+	private class Worker implements Runnable {
+		private final int id;
+		private final ConcurrentLinkedQueue<Board> mailbox = new ConcurrentLinkedQueue<Board>();
+		private final OpenList<Board> open = new BucketOpenList<Board>();
+		private final StateMap best_g = new StateMap();
+		private volatile boolean idle = false;
+		// written only by this worker, and read by count after the thread has been joined
+		private long expanded = 0;
+		private long duplicates = 0;
+		private int peak_open = 0;
+		private long cpu_time = 0;
+		private Board best;
+
+		Worker(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public void run() {
+			long cpu_start = SearchResult.cpu_now();
+			while (!done) {
+				Board message;
+				while ((message = mailbox.poll()) != null) {
+					// the flag is cleared before the message is counted as processed
+					idle = false;
+					receive(message);
+					processed.incrementAndGet();
+				}
+				Board node = open.pop();
+				if (node != null) {
+					expand(node);
+					continue;
+				}
+				idle = true;
+				if (terminated()) {
+					done = true;
+				} else {
+					LockSupport.parkNanos(10000);
+				}
+			}
+			cpu_time = SearchResult.cpu_now() - cpu_start;
+		}
+
+		/**
+		 * This method adds a board this worker owns to its open list, unless it is already known with a lower cost.
+		 */
+		private void receive(Board board) {
+			if (board.get_f() >= incumbent.get()) {
+				return;
+			}
+			int known = best_g.get(board.get_state(), board.get_state_hi());
+			if (known >= 0 && known <= board.get_g()) {
+				duplicates++;
+				return;
+			}
+			best_g.put(board.get_state(), board.get_state_hi(), board.get_g());
+			open.push(board, board.get_f(), board.get_h());
+			peak_open = Math.max(peak_open, open.size());
+		}
+
+		/**
+		 * This method expands a board, sending every child to its owner.
+		 */
+		private void expand(Board board) {
+			if (board.get_f() >= incumbent.get() || best_g.get(board.get_state(), board.get_state_hi()) < board.get_g()) {
+				// pruned by the incumbent, or reached again with a lower cost since it was pushed
+				return;
+			}
+			if (board.isGoal()) {
+				offer_solution(board);
+				return;
+			}
+			expanded++;
+			if (best == null || board.get_h() < best.get_h()) {
+				best = board;
+			}
+			for (byte code : board.successors()) {
+				Board child = board.move(code);
+				child.find_h(heuristic);
+				child.set_f();
+				if (child.get_f() >= incumbent.get()) {
+					continue;
+				}
+				long n = generated.incrementAndGet();
+				Budget.Limit reached = budget.check(n, n);
+				if (reached != null) {
+					stop(reached);
+					return;
+				}
+				int owner = owner(child);
+				if (owner == id) {
+					receive(child);
+				} else {
+					sent.incrementAndGet();
+					workers[owner].mailbox.add(child);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package puzzle;
+
+/**
+ * The heuristics a Board can estimate its cost to the goal with.
+ */
+public enum Heuristic {
+	/** The number of misplaced tiles. */
+	H1,
+	/** The sum of the Manhattan distances of the tiles. */
+	H2,
+	/** The additive pattern database. */
+	PDB,
+	/** The Manhattan distance plus two moves for every tile that has to leave its goal row or column to let another pass. */
+	LC,
+	/** The walking distance, which counts the moves between rows and between columns exactly but ignores the order within them. */
+	WD
+}
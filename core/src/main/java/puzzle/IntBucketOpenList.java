@@ -0,0 +1,74 @@
+package puzzle;
+
+import java.util.Arrays;
+
+/**
+ * The BucketOpenList of node ids: a two-level bucket queue indexed by f(n) and then h(n), whose stacks
+ * are int arrays. Nodes with equal f(n) and h(n) are popped last in, first out.
+ */
+public class IntBucketOpenList implements IntOpenList {
+	// buckets[f][h] is a stack of node ids, with its height in heights[f][h]
+	private int[][][] buckets = new int[0][][];
+	private int[][] heights = new int[0][];
+	private int[] f_sizes = new int[0];
+	private int min_f = 0;
+	private int size = 0;
+
+	@Override
+	public void push(int node, int f, int h) {
+		if (f < 0 || h < 0) {
+			throw new IllegalArgumentException("NEGATIVE COST");
+		}
+		if (f >= buckets.length) {
+			int length = Math.max(f + 1, buckets.length * 2);
+			buckets = Arrays.copyOf(buckets, length);
+			heights = Arrays.copyOf(heights, length);
+			f_sizes = Arrays.copyOf(f_sizes, length);
+		}
+		if (buckets[f] == null || h >= buckets[f].length) {
+			int length = Math.max(h + 1, buckets[f] == null ? 8 : buckets[f].length * 2);
+			buckets[f] = buckets[f] == null ? new int[length][] : Arrays.copyOf(buckets[f], length);
+			heights[f] = heights[f] == null ? new int[length] : Arrays.copyOf(heights[f], length);
+		}
+		int[] stack = buckets[f][h];
+		int height = heights[f][h];
+		if (stack == null) {
+			stack = new int[16];
+			buckets[f][h] = stack;
+		} else if (height == stack.length) {
+			stack = Arrays.copyOf(stack, height * 2);
+			buckets[f][h] = stack;
+		}
+		stack[height] = node;
+		heights[f][h] = height + 1;
+		f_sizes[f]++;
+		if (size == 0 || f < min_f) {
+			min_f = f;
+		}
+		size++;
+	}
+
+	@Override
+	public int pop() {
+		if (size == 0) {
+			return -1;
+		}
+		while (f_sizes[min_f] == 0) {
+			min_f++;
+		}
+		int[] by_h = heights[min_f];
+		int h = 0;
+		while (by_h[h] == 0) {
+			h++;
+		}
+		int node = buckets[min_f][h][--by_h[h]];
+		f_sizes[min_f]--;
+		size--;
+		return node;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
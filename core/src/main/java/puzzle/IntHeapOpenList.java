@@ -0,0 +1,78 @@
+package puzzle;
+
+import java.util.Arrays;
+
+/**
+ * The HeapOpenList of node ids: a binary min-heap stored in an int array of ids and a parallel array of keys.
+ */
+public class IntHeapOpenList implements IntOpenList {
+	private int[] nodes = new int[64];
+	private long[] keys = new long[64];
+	private int size = 0;
+
+	/**
+	 * This method packs f(n) into the high half of the key and h(n) into the low half,
+	 * so a single comparison orders by f(n) and then h(n).
+	 */
+	private static long key(int f, int h) {
+		return ((long) f << 32) | (h & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public void push(int node, int f, int h) {
+		if (size == nodes.length) {
+			nodes = Arrays.copyOf(nodes, size * 2);
+			keys = Arrays.copyOf(keys, size * 2);
+		}
+		long key = key(f, h);
+		// sift up
+		int i = size++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] <= key) {
+				break;
+			}
+			nodes[i] = nodes[parent];
+			keys[i] = keys[parent];
+			i = parent;
+		}
+		nodes[i] = node;
+		keys[i] = key;
+	}
+
+	@Override
+	public int pop() {
+		if (size == 0) {
+			return -1;
+		}
+		int top = nodes[0];
+		size--;
+		int last = nodes[size];
+		long last_key = keys[size];
+		// sift the last node down from the root
+		int i = 0;
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && keys[child + 1] < keys[child]) {
+				child++;
+			}
+			if (last_key <= keys[child]) {
+				break;
+			}
+			nodes[i] = nodes[child];
+			keys[i] = keys[child];
+			i = child;
+		}
+		if (size > 0) {
+			nodes[i] = last;
+			keys[i] = last_key;
+		}
+		return top;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
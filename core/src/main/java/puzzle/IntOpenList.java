@@ -0,0 +1,40 @@
+package puzzle;
+
+/**
+ * The frontier of a best-first search over node ids, ordered by ascending f(n) and then ascending h(n).
+ * It is the OpenList of searches that keep their nodes in a NodeArena, so nothing is allocated per node.
+ */
+public interface IntOpenList {
+
+	/**
+	 * This method adds a node to the frontier.
+	 * 
+	 * @param node The id of the node, at least 0.
+	 * @param f The node's f(n).
+	 * @param h The node's h(n), used to break ties between equal f(n).
+	 */
+	void push(int node, int f, int h);
+
+	/**
+	 * This method removes the node with the lowest f(n), and then the lowest h(n).
+	 * 
+	 * @return The id of the best node, or -1 if the frontier is empty.
+	 */
+	int pop();
+
+	/**
+	 * This method gets the number of nodes in the frontier.
+	 * 
+	 * @return The size of the frontier.
+	 */
+	int size();
+
+	/**
+	 * This method checks if the frontier is empty.
+	 * 
+	 * @return Either the frontier is empty or not.
+	 */
+	default boolean isEmpty() {
+		return size() == 0;
+	}
+}
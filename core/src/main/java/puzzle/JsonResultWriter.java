@@ -0,0 +1,153 @@
+package puzzle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes one JSON object per line for every printState, solve and failed command. The other commands
+ * only change the processor's state, so they produce no line.
+ */
+public class JsonResultWriter implements ResultWriter {
+	private final BufferedWriter out;
+
+	/**
+	 * @param out The stream to write to.
+	 */
+	JsonResultWriter(OutputStream out) {
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+	}
+
+	@Override
+	public void command(Command command) {
+		// only results are written
+	}
+
+	@Override
+	public void message(String message) {
+		// only results are written
+	}
+
+	@Override
+	public void state(Command command, Board board) throws IOException {
+		start(command);
+		field("state", board.get_state_arr());
+		end();
+	}
+
+	@Override
+	public void result(Command command, SearchResult result) throws IOException {
+		start(command);
+		field("algorithm", result.get_algorithm());
+		field("outcome", result.get_outcome().name());
+		List<String> path = result.get_path();
+		field("length", path == null ? -1 : path.size());
+		field("generated", result.get_generated());
+		field("expanded", result.get_expanded());
+		field("duplicates", result.get_duplicates());
+		field("peak_open", result.get_peak_open());
+		field("peak_closed", result.get_peak_closed());
+		field("wall_ns", result.get_wall_time());
+		field("cpu_ns", result.get_cpu_time());
+		if (!Double.isNaN(result.get_bound()) && !Double.isInfinite(result.get_bound())) {
+			out.write(",\"bound\":");
+			out.write(Double.toString(result.get_bound()));
+		}
+		if (path != null) {
+			field("path", String.join(" ", path));
+		}
+		if (result.get_limit() != null) {
+			field("limit", result.get_limit().name());
+		}
+		if (result.get_best() != null) {
+			field("best", result.get_best().get_state_arr());
+			field("best_h", result.get_best().get_h());
+		}
+		if (result.get_queue_wait() >= 0) {
+			field("queue_ns", result.get_queue_wait());
+			field("solve_ns", result.get_solve_time());
+		}
+		end();
+	}
+
+	@Override
+	public void cache(Command command, SolutionCache cache) throws IOException {
+		start(command);
+		field("size", cache.size());
+		field("hits", cache.get_hits());
+		field("misses", cache.get_misses());
+		field("evictions", cache.get_evictions());
+		end();
+	}
+
+	@Override
+	public void service(Command command, SolverService service) throws IOException {
+		start(command);
+		field("connections", service.get_connections());
+		field("served", service.get_served());
+		field("batches", service.get_batches());
+		field("mean_queue_ns", service.get_mean_queue_wait());
+		field("max_queue_ns", service.get_max_queue_wait());
+		field("mean_solve_ns", service.get_mean_solve_time());
+		end();
+	}
+
+	@Override
+	public void error(Command command, String error) throws IOException {
+		start(command);
+		field("error", error);
+		end();
+	}
+
+	/**
+	 * This method starts an object with the fields every line has.
+	 */
+	private void start(Command command) throws IOException {
+		out.write("{\"line\":");
+		out.write(Long.toString(command.line));
+		field("command", command.name);
+	}
+
+	private void field(String name, long value) throws IOException {
+		out.write(",\"");
+		out.write(name);
+		out.write("\":");
+		out.write(Long.toString(value));
+	}
+
+	private void field(String name, String value) throws IOException {
+		out.write(",\"");
+		out.write(name);
+		out.write("\":\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				out.write('\\');
+				out.write(c);
+			} else if (c < 0x20) {
+				out.write(String.format("\\u%04x", (int) c));
+			} else {
+				out.write(c);
+			}
+		}
+		out.write('"');
+	}
+
+	private void end() throws IOException {
+		out.write('}');
+		out.newLine();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
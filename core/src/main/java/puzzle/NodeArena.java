@@ -0,0 +1,190 @@
+package puzzle;
+
+import java.util.Arrays;
+
+/**
+ * The nodes of a search stored as parallel primitive arrays: the packed state, g(n), h(n), the id of the
+ * parent and the move that created the node. A node is an int id into the arrays, so adding one allocates
+ * nothing apart from the occasional growth of the arrays, and a node takes 19 bytes, 27 on 5x5 boards.
+ * 
+ * Under linear conflicts a node also keeps its conflicts, 2 more bytes, and under walking distance its
+ * two table indices, 8 more bytes, so loading it back does not count them again from scratch.
+ * 
+ * A Board is only built for the nodes a search returns, by replaying the moves from the root.
+ */
+public class NodeArena {
+	// a node in the arena, its id in the open list and its share of a half full closed set
+	static final int node_bytes = 72;
+
+	private long[] states;
+	// only used by 5x5 boards, whose states do not fit in one long
+	private long[] states_hi;
+	private int[] g;
+	private short[] h;
+	private int[] parents;
+	private byte[] moves;
+	// only used under linear conflicts and walking distance
+	private short[] conflicts;
+	private int[] wd_rows;
+	private int[] wd_cols;
+	private int size = 0;
+
+	/**
+	 * @param dim The number of rows and columns of the boards.
+	 */
+	NodeArena(int dim) {
+		this(dim, null);
+	}
+
+	/**
+	 * @param dim The number of rows and columns of the boards.
+	 * @param heuristic The heuristic of the search, which decides what else a node keeps, or null.
+	 */
+	NodeArena(int dim, Heuristic heuristic) {
+		int capacity = 1 << 10;
+		this.states = new long[capacity];
+		this.states_hi = dim > 4 ? new long[capacity] : null;
+		this.g = new int[capacity];
+		this.h = new short[capacity];
+		this.parents = new int[capacity];
+		this.moves = new byte[capacity];
+		this.conflicts = heuristic == Heuristic.LC ? new short[capacity] : null;
+		this.wd_rows = heuristic == Heuristic.WD ? new int[capacity] : null;
+		this.wd_cols = heuristic == Heuristic.WD ? new int[capacity] : null;
+	}
+
+	/**
+	 * This method adds a node.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state, 0 up to 4x4.
+	 * @param cost The node's g(n).
+	 * @param estimate The node's h(n).
+	 * @param parent The id of the parent, or -1 for the root.
+	 * @param move The move of the blank tile that created the node, or -1 for the root.
+	 * 
+	 * @return The id of the node.
+	 */
+	int add(long state, long state_hi, int cost, int estimate, int parent, int move) {
+		return add(state, state_hi, cost, estimate, parent, move, -1, -1, -1);
+	}
+
+	/**
+	 * This method adds a node with the lazy heuristics of its board, which are only kept if the arena was
+	 * made for their heuristic.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state, 0 up to 4x4.
+	 * @param cost The node's g(n).
+	 * @param estimate The node's h(n).
+	 * @param parent The id of the parent, or -1 for the root.
+	 * @param move The move of the blank tile that created the node, or -1 for the root.
+	 * @param conflict The linear conflicts of the state, or -1 if unknown.
+	 * @param rows The vertical walking distance table of the state, or -1 if unknown.
+	 * @param cols The horizontal walking distance table of the state, or -1 if unknown.
+	 * 
+	 * @return The id of the node.
+	 */
+	int add(long state, long state_hi, int cost, int estimate, int parent, int move, int conflict, int rows, int cols) {
+		if (size == states.length) {
+			int capacity = size + (size >>> 1);
+			states = Arrays.copyOf(states, capacity);
+			if (states_hi != null) {
+				states_hi = Arrays.copyOf(states_hi, capacity);
+			}
+			g = Arrays.copyOf(g, capacity);
+			h = Arrays.copyOf(h, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			moves = Arrays.copyOf(moves, capacity);
+			if (conflicts != null) {
+				conflicts = Arrays.copyOf(conflicts, capacity);
+			}
+			if (wd_rows != null) {
+				wd_rows = Arrays.copyOf(wd_rows, capacity);
+				wd_cols = Arrays.copyOf(wd_cols, capacity);
+			}
+		}
+		int id = size++;
+		states[id] = state;
+		if (states_hi != null) {
+			states_hi[id] = state_hi;
+		}
+		g[id] = cost;
+		h[id] = (short) estimate;
+		parents[id] = parent;
+		moves[id] = (byte) move;
+		if (conflicts != null) {
+			conflicts[id] = (short) conflict;
+		}
+		if (wd_rows != null) {
+			wd_rows[id] = rows;
+			wd_cols[id] = cols;
+		}
+		return id;
+	}
+
+	long get_state(int id) {
+		return states[id];
+	}
+
+	long get_state_hi(int id) {
+		return states_hi == null ? 0 : states_hi[id];
+	}
+
+	int get_g(int id) {
+		return g[id];
+	}
+
+	int get_h(int id) {
+		return h[id];
+	}
+
+	int get_move(int id) {
+		return moves[id];
+	}
+
+	int get_conflicts(int id) {
+		return conflicts == null ? -1 : conflicts[id];
+	}
+
+	int get_wd_rows(int id) {
+		return wd_rows == null ? -1 : wd_rows[id];
+	}
+
+	int get_wd_cols(int id) {
+		return wd_cols == null ? -1 : wd_cols[id];
+	}
+
+	/**
+	 * This method gets the number of nodes.
+	 * 
+	 * @return The number of nodes added.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * This method builds the board of a node, with a path from the board the search started from.
+	 * 
+	 * @param id The id of the node.
+	 * @param root The board of node 0.
+	 * 
+	 * @return The board, reached from the root by the moves of the node's ancestors.
+	 */
+	Board board(int id, Board root) {
+		byte[] path = new byte[g[id] - g[0]];
+		for (int node = id; parents[node] >= 0; node = parents[node]) {
+			path[g[node] - g[0] - 1] = moves[node];
+		}
+		if (path.length == 0) {
+			return root;
+		}
+		Board board = root;
+		for (byte move : path) {
+			board = board.move(move);
+		}
+		board.set_h(h[id]);
+		return board;
+	}
+}
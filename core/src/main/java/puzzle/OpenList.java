@@ -0,0 +1,41 @@
+package puzzle;
+
+/**
+ * The frontier of a best-first search, ordered by ascending f(n) and then ascending h(n).
+ * 
+ * @param <T> The type of node stored in the frontier.
+ */
+public interface OpenList<T> {
+
+	/**
+	 * This method adds a node to the frontier.
+	 * 
+	 * @param node The node to add.
+	 * @param f The node's f(n).
+	 * @param h The node's h(n), used to break ties between equal f(n).
+	 */
+	void push(T node, int f, int h);
+
+	/**
+	 * This method removes the node with the lowest f(n), and then the lowest h(n).
+	 * 
+	 * @return The best node, or null if the frontier is empty.
+	 */
+	T pop();
+
+	/**
+	 * This method gets the number of nodes in the frontier.
+	 * 
+	 * @return The size of the frontier.
+	 */
+	int size();
+
+	/**
+	 * This method checks if the frontier is empty.
+	 * 
+	 * @return Either the frontier is empty or not.
+	 */
+	default boolean isEmpty() {
+		return size() == 0;
+	}
+}
@@ -0,0 +1,311 @@
+package puzzle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A disjoint additive pattern database. The tiles are split into groups, and for each group a table
+ * stores the minimum number of moves of that group's tiles needed to bring them to their goal cells,
+ * whatever the other tiles do. Moves of other tiles are free, so the groups never count the same move
+ * and the sum of the tables is admissible.
+ * 
+ * The tables are generated once by a breadth-first search backwards from the goal, written to
+ * pdb_N.bin in the working directory for an N x N board, and memory-mapped on later runs.
+ */
+public class PatternDatabase {
+	private static final int magic = 0x50444231;
+	// partitions[dim] splits the tiles of a dim x dim board into groups, a group's table holds cells^size bytes
+	private static final int[][][] partitions = {
+		null,
+		null,
+		{ {1, 2, 3} },
+		{ {1, 2, 3, 4}, {5, 6, 7, 8} },
+		{ {1, 2, 3, 4, 5}, {6, 7, 8, 9, 10}, {11, 12, 13, 14, 15} },
+		{ {1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 14, 15, 16}, {17, 18, 19, 20}, {21, 22, 23, 24} }
+	};
+	private static final PatternDatabase[] instances = new PatternDatabase[Geometry.max_dim + 1];
+
+	private final int cells;
+	private final int[][] groups;
+	// weights[group][tile] is cells^slot for the tile's slot within the group, or 0 if it is not in the group
+	private final int[][] weights;
+	private final ByteBuffer tables;
+	private final int[] offsets;
+
+	/**
+	 * This constructor wraps the mapped file.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param tables The mapped file.
+	 * @param offsets The position of each group's table in the file.
+	 */
+	private PatternDatabase(int dim, ByteBuffer tables, int[] offsets) {
+		this.cells = dim * dim;
+		this.groups = partitions[dim];
+		this.tables = tables;
+		this.offsets = offsets;
+		this.weights = new int[groups.length][cells];
+		for (int i = 0; i < groups.length; i++) {
+			for (int slot = 0; slot < groups[i].length; slot++) {
+				weights[i][groups[i][slot]] = power(cells, slot);
+			}
+		}
+	}
+
+	/**
+	 * This method gets the shared pattern database of a dimension, loading or generating it on first use.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * 
+	 * @return The pattern database.
+	 */
+	static synchronized PatternDatabase get(int dim) {
+		Geometry.of(dim);
+		if (instances[dim] == null) {
+			try {
+				instances[dim] = load(dim, Paths.get("pdb_" + dim + ".bin"));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return instances[dim];
+	}
+
+	/**
+	 * This method maps the pattern database file, generating it first if it does not exist yet.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param file The pattern database file.
+	 * 
+	 * @return The pattern database.
+	 * @throws IOException
+	 */
+	static PatternDatabase load(int dim, Path file) throws IOException {
+		int cells = dim * dim;
+		int[][] groups = partitions[dim];
+		if (!Files.exists(file)) {
+			generate(dim, file);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			// header: magic, dimension, number of groups, then each group's size and tiles
+			if (buffer.getInt() != magic || buffer.getInt() != dim || buffer.getInt() != groups.length) {
+				throw new IOException("INVALID PATTERN DATABASE " + file);
+			}
+			for (int[] group : groups) {
+				int size = buffer.getInt();
+				int[] tiles = new int[size];
+				for (int i = 0; i < size; i++) {
+					tiles[i] = buffer.getInt();
+				}
+				if (!Arrays.equals(tiles, group)) {
+					throw new IOException("INVALID PATTERN DATABASE " + file);
+				}
+			}
+			int[] offsets = new int[groups.length];
+			int offset = buffer.position();
+			for (int i = 0; i < groups.length; i++) {
+				offsets[i] = offset;
+				offset += power(cells, groups[i].length);
+			}
+			if (offset != buffer.limit()) {
+				throw new IOException("INVALID PATTERN DATABASE " + file);
+			}
+			return new PatternDatabase(dim, buffer, offsets);
+		}
+	}
+
+	/**
+	 * This method calculates the heuristic of a board, the sum of every group's table entry.
+	 * 
+	 * @param board The board, which has to have this database's dimension.
+	 * 
+	 * @return The heuristic cost.
+	 */
+	int estimate(Board board) {
+		int total = 0;
+		for (int i = 0; i < groups.length; i++) {
+			int[] group_weights = weights[i];
+			int index = 0;
+			for (int cell = 0; cell < cells; cell++) {
+				index += cell * group_weights[board.tile_at(cell)];
+			}
+			total += tables.get(offsets[i] + index) & 0xFF;
+		}
+		return total;
+	}
+
+	/**
+	 * This method calculates base to the given power, the weight of a slot in a table index.
+	 */
+	private static int power(int base, int exponent) {
+		int result = 1;
+		for (int i = 0; i < exponent; i++) {
+			result *= base;
+		}
+		return result;
+	}
+
+	/**
+	 * This method generates every group's table and writes the pattern database file.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param file The pattern database file.
+	 * @throws IOException
+	 */
+	static void generate(int dim, Path file) throws IOException {
+		int[][] groups = partitions[dim];
+		Path temp = Paths.get(file + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+			out.writeInt(magic);
+			out.writeInt(dim);
+			out.writeInt(groups.length);
+			for (int[] group : groups) {
+				out.writeInt(group.length);
+				for (int tile : group) {
+					out.writeInt(tile);
+				}
+			}
+			for (int[] group : groups) {
+				out.write(generate_table(dim, group));
+			}
+		}
+		Files.move(temp, file, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * This method runs a 0-1 breadth-first search from the goal over the placements of a group's tiles and the blank.
+	 * Moving a group tile costs 1 and moving any other tile costs 0. The table keeps the minimum over the blank's cell.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param group The group's tiles.
+	 * 
+	 * @return The table indexed by the sum of cell * cells^slot over the group's tiles.
+	 */
+	private static byte[] generate_table(int dim, int[] group) {
+		int cells = dim * dim;
+		int k = group.length;
+		int size = power(cells, k);
+		int[] weights = new int[k];
+		for (int slot = 0; slot < k; slot++) {
+			weights[slot] = power(cells, slot);
+		}
+		int[][] neighbors = neighbor_table(dim);
+		// abstract states also track the blank, index = placement + blank * size
+		byte[] distance = new byte[size * cells];
+		Arrays.fill(distance, (byte) -1);
+		int start = 0;
+		for (int slot = 0; slot < k; slot++) {
+			start += group[slot] * weights[slot];
+		}
+		distance[start] = 0;
+		// one queue per distance, free moves go back into the current queue
+		int[] current = { start };
+		int current_size = 1;
+		int[] next_layer = new int[64];
+		int next_size = 0;
+		int[] positions = new int[k];
+		int[] occupant = new int[cells];
+		for (int dist = 0; current_size > 0; dist++) {
+			for (int i = 0; i < current_size; i++) {
+				int node = current[i];
+				if (distance[node] != dist) {
+					// reached again later with a lower distance
+					continue;
+				}
+				int placement = node % size;
+				int blank = node / size;
+				Arrays.fill(occupant, -1);
+				for (int slot = 0, rest = placement; slot < k; slot++, rest /= cells) {
+					positions[slot] = rest % cells;
+					occupant[positions[slot]] = slot;
+				}
+				for (int next_blank : neighbors[blank]) {
+					int slot = occupant[next_blank];
+					if (slot >= 0) {
+						// the group tile slides into the blank's cell
+						int next = placement + (blank - next_blank) * weights[slot] + next_blank * size;
+						if (distance[next] == -1) {
+							distance[next] = (byte) (dist + 1);
+							if (next_size == next_layer.length) {
+								next_layer = Arrays.copyOf(next_layer, next_size * 2);
+							}
+							next_layer[next_size++] = next;
+						}
+					} else {
+						int next = placement + next_blank * size;
+						if (distance[next] == -1 || distance[next] > dist) {
+							distance[next] = (byte) dist;
+							if (current_size == current.length) {
+								current = Arrays.copyOf(current, current_size * 2);
+							}
+							current[current_size++] = next;
+						}
+					}
+				}
+			}
+			current = next_layer;
+			current_size = next_size;
+			next_layer = new int[64];
+			next_size = 0;
+		}
+		byte[] table = new byte[size];
+		Arrays.fill(table, (byte) -1);
+		for (int node = 0; node < distance.length; node++) {
+			int placement = node % size;
+			if (distance[node] != -1 && (distance[node] & 0xFF) < (table[placement] & 0xFF)) {
+				table[placement] = distance[node];
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * This method gets the cells next to every cell.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * 
+	 * @return The neighboring cells indexed by cell.
+	 */
+	private static int[][] neighbor_table(int dim) {
+		int[][] table = new int[dim * dim][];
+		for (int cell = 0; cell < dim * dim; cell++) {
+			table[cell] = neighbors(dim, cell);
+		}
+		return table;
+	}
+
+	/**
+	 * This method gets the cells next to the given cell.
+	 */
+	private static int[] neighbors(int dim, int cell) {
+		int row = cell / dim;
+		int col = cell % dim;
+		int[] result = new int[4];
+		int count = 0;
+		if (row > 0) {
+			result[count++] = cell - dim;
+		}
+		if (row < dim - 1) {
+			result[count++] = cell + dim;
+		}
+		if (col > 0) {
+			result[count++] = cell - 1;
+		}
+		if (col < dim - 1) {
+			result[count++] = cell + 1;
+		}
+		return Arrays.copyOf(result, count);
+	}
+}
@@ -0,0 +1,88 @@
+package puzzle;
+
+/**
+ * Utility methods for ranking packed 3x3 states as permutations.
+ */
+public class Permutation {
+	// 8! / 2 ranks of the tiles per blank position
+	static final int half_rank_count = 20160;
+	static final int rank_count = 9 * half_rank_count;
+
+	/**
+	 * This constructor is kept private to prevent instantiation.
+	 */
+	private Permutation() {
+		// intentionally left blank.
+	}
+
+	/**
+	 * This method computes a perfect hash of a packed 3x3 state in the range [0, 181440).
+	 * The tiles are read in row-major order skipping the blank, and their Lehmer code rank is halved.
+	 * Ranks 2k and 2k + 1 only differ by swapping the last two tiles, so they have opposite parity,
+	 * and halving is a perfect hash among the states that share a parity. Every move keeps that
+	 * parity, so all states reachable from one board have distinct indexes.
+	 * 
+	 * @param state The packed state, 4 bits per cell.
+	 * 
+	 * @return The index of the state.
+	 */
+	static int rank(long state) {
+		int blank = 0;
+		int seen = 0;
+		int rank = 0;
+		int remaining = 8;
+		for (int i = 0; i < 9; i++) {
+			int tile = (int) (state >>> (4 * i)) & 0xF;
+			if (tile == 0) {
+				blank = i;
+				continue;
+			}
+			// the Lehmer digit is the number of smaller tiles that have not been placed yet
+			int digit = tile - 1 - Integer.bitCount(seen & ((1 << tile) - 1));
+			seen |= 1 << tile;
+			remaining--;
+			rank = rank * (remaining + 1) + digit;
+		}
+		return blank * half_rank_count + (rank >>> 1);
+	}
+
+	/**
+	 * This method finds the solvable 3x3 state of an index, undoing rank(long). The Lehmer digits sum to
+	 * the number of inversions, so of the two ranks that share the index the one with an even sum is the
+	 * solvable state, and they differ in the digit with radix 2.
+	 * 
+	 * @param index The index, in the range [0, 181440).
+	 * 
+	 * @return The packed state, 4 bits per cell.
+	 */
+	static long unrank(int index) {
+		int blank = index / half_rank_count;
+		int rank = (index % half_rank_count) << 1;
+		int[] digits = new int[8];
+		int parity = 0;
+		for (int i = 7; i >= 0; i--) {
+			// digit i has radix 8 - i
+			digits[i] = rank % (8 - i);
+			rank /= 8 - i;
+			parity ^= digits[i] & 1;
+		}
+		digits[6] ^= parity;
+		long state = 0;
+		int unused = 0x1FE;
+		int cell = 0;
+		for (int i = 0; i < 8; i++, cell++) {
+			if (cell == blank) {
+				cell++;
+			}
+			// the tile is the smallest unused one with digits[i] smaller unused tiles below it
+			int tiles = unused;
+			for (int skip = 0; skip < digits[i]; skip++) {
+				tiles &= tiles - 1;
+			}
+			int tile = Integer.numberOfTrailingZeros(tiles);
+			unused &= ~(1 << tile);
+			state |= (long) tile << (4 * cell);
+		}
+		return state;
+	}
+}
@@ -0,0 +1,34 @@
+package puzzle;
+
+/**
+ * A closed set for 3x3 boards backed by a 181,440-bit set indexed by Permutation.rank(long),
+ * so a lookup is a single memory access and nothing is allocated after construction.
+ */
+public class RankClosedSet implements ClosedSet {
+	private final long[] bits = new long[(Permutation.rank_count + 63) >>> 6];
+	private int size = 0;
+
+	@Override
+	public boolean add(long state, long state_hi) {
+		int rank = Permutation.rank(state);
+		long mask = 1L << rank;
+		long word = bits[rank >>> 6];
+		if ((word & mask) != 0) {
+			return false;
+		}
+		bits[rank >>> 6] = word | mask;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean contains(long state, long state_hi) {
+		int rank = Permutation.rank(state);
+		return (bits[rank >>> 6] & (1L << rank)) != 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,93 @@
+package puzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Where a CommandProcessor reports what each command did. Every implementation buffers its output
+ * and only writes it out when the buffer is full or the writer is flushed, so replaying a long
+ * command log is not held up by a write per command.
+ */
+public interface ResultWriter extends Closeable {
+	/**
+	 * This method reports that a command is about to run.
+	 * 
+	 * @param command The command.
+	 */
+	void command(Command command) throws IOException;
+
+	/**
+	 * This method reports a message for people reading along, such as the new node limit.
+	 * Machine-readable formats leave these out.
+	 * 
+	 * @param message The message.
+	 */
+	void message(String message) throws IOException;
+
+	/**
+	 * This method reports the board of a printState command.
+	 * 
+	 * @param command The command.
+	 * @param board The current board.
+	 */
+	void state(Command command, Board board) throws IOException;
+
+	/**
+	 * This method reports the result of a solve command.
+	 * 
+	 * @param command The command.
+	 * @param result The result of the search.
+	 */
+	void result(Command command, SearchResult result) throws IOException;
+
+	/**
+	 * This method reports the counters of the solution cache for a printCache command.
+	 * 
+	 * @param command The command.
+	 * @param cache The cache.
+	 */
+	void cache(Command command, SolutionCache cache) throws IOException;
+
+	/**
+	 * This method reports the counters of the solver service for a printService command.
+	 * 
+	 * @param command The command.
+	 * @param service The service the command came through.
+	 */
+	void service(Command command, SolverService service) throws IOException;
+
+	/**
+	 * This method reports a command that could not be run.
+	 * 
+	 * @param command The command.
+	 * @param error The reason.
+	 */
+	void error(Command command, String error) throws IOException;
+
+	/**
+	 * This method writes out everything buffered so far.
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * This method creates a writer for one of the output formats.
+	 * 
+	 * @param format Either "text" for the human-oriented console output, "jsonl" for one JSON object per line or "csv".
+	 * @param out The stream to write to. It is closed with the writer.
+	 * 
+	 * @return The writer.
+	 */
+	static ResultWriter of(String format, OutputStream out) {
+		switch (format) {
+		case "text":
+			return new TextResultWriter(out);
+		case "jsonl":
+			return new JsonResultWriter(out);
+		case "csv":
+			return new CsvResultWriter(out);
+		default:
+			throw new IllegalArgumentException("UNKNOWN FORMAT " + format);
+		}
+	}
+}
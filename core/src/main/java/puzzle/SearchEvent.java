@@ -0,0 +1,57 @@
+package puzzle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event covering one search, from its first node to its solution or the end of its budget.
+ * It is recorded with everything else in a flight recording, for example with
+ * -XX:StartFlightRecording, and costs next to nothing while no recording is running.
+ */
+@Name("puzzle.Search")
+@Label("Search")
+@Category("Puzzle")
+@Description("One search of the puzzle solver")
+@StackTrace(false)
+class SearchEvent extends Event {
+	@Label("Algorithm")
+	String algorithm;
+
+	@Label("Outcome")
+	String outcome;
+
+	@Label("Limit")
+	@Description("The budget limit the search ran into, if any")
+	String limit;
+
+	@Label("Solution Length")
+	int solution_length;
+
+	@Label("Nodes Generated")
+	long generated;
+
+	@Label("Nodes Expanded")
+	long expanded;
+
+	@Label("Duplicates Pruned")
+	long duplicates;
+
+	@Label("Peak Open List Size")
+	long peak_open;
+
+	@Label("Peak Closed Set Size")
+	long peak_closed;
+
+	@Label("Suboptimality Bound")
+	@Description("The proven bound on the solution cost over the optimal cost, or NaN")
+	double bound;
+
+	@Label("CPU Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long cpu_time;
+}
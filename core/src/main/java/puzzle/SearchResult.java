@@ -0,0 +1,299 @@
+package puzzle;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * The statistics of one search. A search creates its result before the first node, which starts the
+ * wall and CPU clocks, counts its work into the counters while it runs, and ends with finish,
+ * which stops the clocks and commits a SearchEvent to JFR. Nothing is printed while the clocks run.
+ * 
+ * Generated nodes are the nodes a search kept, including the initial board, and duplicates are the
+ * children it dropped because their state was already known. The peak sizes are numbers of nodes.
+ */
+public class SearchResult {
+	private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * How a search ended.
+	 */
+	enum Outcome {
+		/** The goal was reached. */
+		SOLVED,
+		/** A node, time or memory limit was reached before the goal. */
+		BUDGET_EXCEEDED,
+		/** The search was cancelled through its token or by interrupting its thread. */
+		CANCELLED,
+		/** Every reachable node was expanded without reaching the goal. */
+		EXHAUSTED,
+		/** The search does not apply to the board, so it did not run. */
+		UNSOLVABLE
+	}
+
+	private final String algorithm;
+	private final SearchEvent event = new SearchEvent();
+	private final long start;
+	private final long cpu_start;
+	private Outcome outcome;
+	private Board solution;
+	private Budget.Limit limit;
+	private Board best;
+	private long wall_time;
+	private long cpu_time;
+	// set by a SolverService, -1 for a search that was not queued
+	private long queue_wait = -1;
+	private long solve_time = -1;
+	long generated = 0;
+	long expanded = 0;
+	long duplicates = 0;
+	long peak_open = 0;
+	long peak_closed = 0;
+	// the proven bound on the solution cost over the optimal cost, for searches that are not always optimal
+	double bound = Double.NaN;
+
+	/**
+	 * @param algorithm The name of the search, such as "A* H2".
+	 */
+	SearchResult(String algorithm) {
+		this.algorithm = algorithm;
+		event.begin();
+		cpu_start = cpu_now();
+		start = System.nanoTime();
+	}
+
+	/**
+	 * This method gets the CPU time of the calling thread.
+	 * 
+	 * @return The CPU time in nanoseconds, or 0 if the JVM does not measure it.
+	 */
+	static long cpu_now() {
+		return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+	}
+
+	/**
+	 * This method raises the peak open list size.
+	 * 
+	 * @param size The current size of the open list.
+	 */
+	void open(long size) {
+		if (size > peak_open) {
+			peak_open = size;
+		}
+	}
+
+	/**
+	 * This method adds CPU time spent on other threads, such as the workers of a parallel search.
+	 * 
+	 * @param nanos The CPU time in nanoseconds.
+	 */
+	void add_cpu_time(long nanos) {
+		cpu_time += nanos;
+	}
+
+	/**
+	 * This method stops the clocks and commits the JFR event.
+	 * 
+	 * @param outcome How the search ended.
+	 * @param solution The goal board if the search was solved, otherwise null.
+	 * 
+	 * @return This result.
+	 */
+	SearchResult finish(Outcome outcome, Board solution) {
+		wall_time = System.nanoTime() - start;
+		cpu_time += cpu_now() - cpu_start;
+		this.outcome = outcome;
+		this.solution = solution;
+		event.end();
+		if (event.shouldCommit()) {
+			event.algorithm = algorithm;
+			event.outcome = outcome.name();
+			event.solution_length = solution == null ? -1 : solution.get_path().size();
+			event.generated = generated;
+			event.expanded = expanded;
+			event.duplicates = duplicates;
+			event.peak_open = peak_open;
+			event.peak_closed = peak_closed;
+			event.cpu_time = cpu_time;
+			event.bound = bound;
+			event.limit = limit == null ? null : limit.name();
+			event.commit();
+		}
+		return this;
+	}
+
+	/**
+	 * This method ends a search that ran into its budget, keeping the progress it made.
+	 * 
+	 * @param limit The limit that was reached.
+	 * @param best The board with the lowest h(n) the search reached, or null if it does not keep one.
+	 * 
+	 * @return This result.
+	 */
+	SearchResult stop(Budget.Limit limit, Board best) {
+		this.limit = limit;
+		this.best = best;
+		return finish(limit == Budget.Limit.CANCELLED ? Outcome.CANCELLED : Outcome.BUDGET_EXCEEDED, null);
+	}
+
+	/**
+	 * This method records how a SolverService ran the search.
+	 * 
+	 * @param queue_wait The nanoseconds from queueing the search to a worker starting it.
+	 * @param solve_time The nanoseconds the worker spent on it, including setting the search up.
+	 */
+	void served(long queue_wait, long solve_time) {
+		this.queue_wait = queue_wait;
+		this.solve_time = solve_time;
+	}
+
+	long get_queue_wait() {
+		return queue_wait;
+	}
+
+	long get_solve_time() {
+		return solve_time;
+	}
+
+	String get_algorithm() {
+		return algorithm;
+	}
+
+	Outcome get_outcome() {
+		return outcome;
+	}
+
+	boolean is_solved() {
+		return outcome == Outcome.SOLVED;
+	}
+
+	/**
+	 * This method gets the goal board, whose parents lead back to the initial board and its ancestors.
+	 * 
+	 * @return The goal board, or null if the search was not solved.
+	 */
+	Board get_solution() {
+		return solution;
+	}
+
+	/**
+	 * This method gets the moves of the solution, including the moves that led to the initial board.
+	 * 
+	 * @return The moves, or null if the search was not solved.
+	 */
+	List<String> get_path() {
+		return solution == null ? null : solution.get_path();
+	}
+
+	/**
+	 * This method gets the limit the search ran into.
+	 * 
+	 * @return The limit, or null if the search did not stop early.
+	 */
+	Budget.Limit get_limit() {
+		return limit;
+	}
+
+	/**
+	 * This method gets the closest the search got to the goal before it stopped.
+	 * 
+	 * @return The board with the lowest h(n) reached, or null.
+	 */
+	Board get_best() {
+		return best;
+	}
+
+	long get_generated() {
+		return generated;
+	}
+
+	long get_expanded() {
+		return expanded;
+	}
+
+	long get_duplicates() {
+		return duplicates;
+	}
+
+	long get_peak_open() {
+		return peak_open;
+	}
+
+	long get_peak_closed() {
+		return peak_closed;
+	}
+
+	/**
+	 * This method gets the proven bound on the solution cost over the optimal cost.
+	 * 
+	 * @return The bound, or NaN if the search does not prove one.
+	 */
+	double get_bound() {
+		return bound;
+	}
+
+	long get_wall_time() {
+		return wall_time;
+	}
+
+	long get_cpu_time() {
+		return cpu_time;
+	}
+
+	/**
+	 * This method prints the result the way the solver has always reported a search.
+	 * 
+	 * @param out The stream to print to.
+	 */
+	void print(PrintStream out) {
+		switch (outcome) {
+		case SOLVED:
+			out.println("DONE WITH " + algorithm);
+			break;
+		case BUDGET_EXCEEDED:
+			if (limit == Budget.Limit.TIME) {
+				out.println("TIME LIMIT EXCEEDED.");
+			} else if (limit == Budget.Limit.MEMORY) {
+				out.println("MEMORY LIMIT EXCEEDED.");
+			} else {
+				out.println("NODE NUMBER OVERFLOW.");
+			}
+			break;
+		case CANCELLED:
+			out.println("SEARCH CANCELLED.");
+			break;
+		case EXHAUSTED:
+			out.println("NO STATES LEFT TO EXPAND.");
+			break;
+		case UNSOLVABLE:
+			out.println(algorithm + " CAN NOT SOLVE THIS BOARD.");
+			print_service(out);
+			return;
+		}
+		out.println("NUMBER OF NODES: " + generated);
+		out.println("TIME TAKEN: " + wall_time + " NS");
+		out.println("EXPANDED: " + expanded + ", DUPLICATES: " + duplicates + ", PEAK OPEN: " + peak_open
+				+ ", PEAK CLOSED: " + peak_closed + ", CPU TIME: " + cpu_time + " NS");
+		if (!Double.isNaN(bound)) {
+			out.println("WITHIN " + bound + " OF OPTIMAL");
+		}
+		if (solution != null) {
+			List<String> path = solution.get_path();
+			out.println("SIZE: " + path.size() + ", STEPS: " + path.toString());
+		}
+		if (best != null) {
+			out.println("CLOSEST STATE: " + best.get_state_arr() + ", H: " + best.get_h() + ", AFTER " + best.get_path().size() + " MOVES");
+		}
+		print_service(out);
+	}
+
+	/**
+	 * This method prints the queue wait and solve time of a search that a SolverService ran.
+	 */
+	private void print_service(PrintStream out) {
+		if (queue_wait >= 0) {
+			out.println("QUEUE WAIT: " + queue_wait + " NS, SOLVE TIME: " + solve_time + " NS");
+		}
+	}
+}
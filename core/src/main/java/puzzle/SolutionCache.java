@@ -0,0 +1,181 @@
+package puzzle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of optimal solutions shared across queries, keyed by packed state.
+ * 
+ * Storing a solution records every state on it, each pointing into the one array of moves at the
+ * offset where its own suffix starts. Every suffix of an optimal path is itself optimal, so any state
+ * on a solution found before is answered with its exact distance and path, and evicting one state
+ * never breaks the others. The least recently used state is evicted once the capacity is reached.
+ * Only solutions from optimal searches may be stored.
+ * 
+ * Every method is synchronized, so one cache can be shared by concurrent solvers.
+ */
+public class SolutionCache {
+	private final int capacity;
+	private final LinkedHashMap<Key, Suffix> entries;
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * A packed state.
+	 */
+	private static final class Key {
+		private final long state;
+		private final long state_hi;
+
+		Key(long state, long state_hi) {
+			this.state = state;
+			this.state_hi = state_hi;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key && ((Key) other).state == state && ((Key) other).state_hi == state_hi;
+		}
+
+		@Override
+		public int hashCode() {
+			return StateMap.hash(state, state_hi);
+		}
+	}
+
+	/**
+	 * The moves of an optimal solution from the offset to the end.
+	 */
+	private static final class Suffix {
+		private final byte[] moves;
+		private final int offset;
+
+		Suffix(byte[] moves, int offset) {
+			this.moves = moves;
+			this.offset = offset;
+		}
+	}
+
+	/**
+	 * @param capacity The largest number of states kept.
+	 */
+	SolutionCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("INVALID CACHE CAPACITY " + capacity);
+		}
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<Key, Suffix>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Suffix> eldest) {
+				if (size() > SolutionCache.this.capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * This method gets the exact distance of a cached state, for searches that probe the states they expand.
+	 * Such a probe is not a query, so it is neither counted as a hit or a miss nor makes the state recently used.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * 
+	 * @return The number of moves of the cached solution, or -1 if the state is not cached.
+	 */
+	synchronized int peek(long state, long state_hi) {
+		Suffix suffix = entries.get(new Key(state, state_hi));
+		return suffix == null ? -1 : suffix.moves.length - suffix.offset;
+	}
+
+	/**
+	 * This method completes a board with its cached optimal suffix.
+	 * 
+	 * @param board The board.
+	 * 
+	 * @return The goal board, reached from the given board by the cached moves, or null if the board's state is not cached.
+	 */
+	Board complete(Board board) {
+		Suffix suffix;
+		synchronized (this) {
+			suffix = lookup(board);
+		}
+		if (suffix == null) {
+			return null;
+		}
+		Board goal = board;
+		for (int i = suffix.offset; i < suffix.moves.length; i++) {
+			goal = goal.move(suffix.moves[i]);
+		}
+		return goal;
+	}
+
+	/**
+	 * This method counts a lookup as a hit or a miss.
+	 */
+	private Suffix lookup(Board board) {
+		Suffix suffix = entries.get(new Key(board.get_state(), board.get_state_hi()));
+		if (suffix == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return suffix;
+	}
+
+	/**
+	 * This method stores an optimal solution, recording every state from the start board to the goal.
+	 * 
+	 * @param start The board the search started from.
+	 * @param goal The goal board the search returned, whose parents lead back to the start board.
+	 */
+	void store(Board start, Board goal) {
+		int length = goal.get_g() - start.get_g();
+		byte[] moves = new byte[length];
+		Board board = goal;
+		for (int i = length - 1; i >= 0; i--) {
+			moves[i] = (byte) board.get_last_move();
+			board = board.get_parent();
+		}
+		synchronized (this) {
+			Board walker = start.copy();
+			for (int i = 0; i <= length; i++) {
+				entries.put(new Key(walker.get_state(), walker.get_state_hi()), new Suffix(moves, i));
+				if (i < length) {
+					walker.make_move(moves[i]);
+				}
+			}
+		}
+	}
+
+	synchronized long get_hits() {
+		return hits;
+	}
+
+	synchronized long get_misses() {
+		return misses;
+	}
+
+	synchronized long get_evictions() {
+		return evictions;
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * This method gets the share of lookups that were answered from the cache.
+	 * 
+	 * @return The hit rate between 0 and 1, or 0 before the first lookup.
+	 */
+	synchronized double hit_rate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+}
@@ -0,0 +1,955 @@
+package puzzle;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import javax.swing.JOptionPane;
+
+public class Solver {
+	private static final int found = -1;
+	private static final int overflow = -2;
+	// beams at least this wide are expanded on the common fork-join pool
+	private static final int parallel_beam = 256;
+	// the number of beam members expanded on one board by one task
+	private static final int parallel_chunk = 64;
+	// the most states sorted in memory at a time by the external search, 32 MB
+	private static final int external_run = 1 << 22;
+	private int max_node;
+	private long time_limit = 0;
+	private long memory_limit = 0;
+	private CancellationToken token;
+	private Path external_directory = Paths.get(System.getProperty("java.io.tmpdir"));
+	private PrintStream out = System.out;
+	private String open_list_type = "bucket";
+	private int transposition_entries = 0;
+	private ClosedSet memory;
+	private SolutionCache cache;
+	private byte[] ida_moves;
+	private int ida_depth;
+	private SearchResult ida_result;
+	private Budget ida_budget;
+	private Budget.Limit ida_limit;
+	private int ida_best;
+	private byte[] ida_best_moves;
+
+	/**
+	 * This constructor is package-private so that the batch runner can create one Solver per task.
+	 */
+	Solver() {
+		// intentionally left blank.
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using A-star search using heuristic h1.
+	 * Specifically, h1 is the number of misplaced tiles.
+	 * 
+	 * @param board The initial board.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	SearchResult astar_h1(Board board) {
+		return astar(board, Heuristic.H1);
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using A-star search using heuristic h2.
+	 * Specifically, h2 is the sum of the distances of the tiles from their goal positions, known as the Manhattan distance.
+	 * 
+	 * @param board The initial board.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	SearchResult astar_h2(Board board) {
+		return astar(board, Heuristic.H2);
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using A-star search using the additive pattern database.
+	 * The tiles are split into disjoint groups, and each group's table holds the exact number of moves of its own tiles.
+	 * 
+	 * @param board The initial board.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	SearchResult astar_pdb(Board board) {
+		return astar(board, Heuristic.PDB);
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using A-star search using the Manhattan distance plus linear conflicts.
+	 * Two tiles in their goal row or column but in the wrong order add two moves, since one of them has to step aside.
+	 * 
+	 * @param board The initial board.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	SearchResult astar_lc(Board board) {
+		return astar(board, Heuristic.LC);
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using A-star search using the walking distance.
+	 * The tiles are only told apart by their goal row, or column, and the exact number of moves between rows and between columns is looked up.
+	 * 
+	 * @param board The initial board, at most 4x4.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	SearchResult astar_wd(Board board) {
+		return astar(board, Heuristic.WD);
+	}
+
+	/**
+	 * This method runs A-star search from the given board with the given heuristic. The nodes are kept in a
+	 * NodeArena and the frontier holds their ids, and every node is expanded by loading its state into one
+	 * scratch board and making and unmaking each move on it, so only the returned boards are built.
+	 * 
+	 * A popped node whose state is in the solution cache is a candidate solution of g(n) plus its cached
+	 * distance. The candidate is only returned once no node left on the frontier has a lower f(n), since
+	 * until then a shorter solution may go through a node that is not cached.
+	 * 
+	 * @param board The initial board.
+	 * @param heuristic The heuristic used for h(n).
+	 * 
+	 * @return The statistics of the search, which ends early when the budget runs out or the frontier does.
+	 */
+	private SearchResult astar(Board board, Heuristic heuristic) {
+		SearchResult result = new SearchResult("A* " + heuristic);
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		Budget budget = budget(NodeArena.node_bytes);
+		memory = ClosedSet.of(board);
+		memory.add(board.get_state(), board.get_state_hi());
+		NodeArena arena = new NodeArena(board.get_dim(), heuristic);
+		IntOpenList possible_successors = new_open_list();
+		Board scratch = board.copy();
+		scratch.find_h(heuristic);
+		int node = arena.add(board.get_state(), board.get_state_hi(), board.get_g(), scratch.get_h(), -1, -1,
+				scratch.get_conflicts(), scratch.get_wd_rows(), scratch.get_wd_cols());
+		int best = -1;
+		// the cached node with the lowest g(n) plus cached distance, and that total
+		int candidate = -1;
+		int candidate_cost = Integer.MAX_VALUE;
+		result.generated = 1;
+
+		while (!scratch.isGoal()) {
+			result.expanded++;
+			int g = arena.get_g(node) + 1;
+			// the conflicts and walking distance tables stored with the node are kept up to date by the moves
+			scratch.find_h(heuristic);
+			for (byte code : scratch.successors(arena.get_move(node))) {
+				scratch.make_move(code);
+				if (memory.add(scratch.get_state(), scratch.get_state_hi())) {
+					scratch.find_h(heuristic);
+					int h = scratch.get_h();
+					int child = arena.add(scratch.get_state(), scratch.get_state_hi(), g, h, node, code,
+							scratch.get_conflicts(), scratch.get_wd_rows(), scratch.get_wd_cols());
+					possible_successors.push(child, g + h, h);
+					result.open(possible_successors.size());
+					result.generated++;
+					Budget.Limit limit = budget.check(result.generated, possible_successors.size() + memory.size());
+					if (limit != null) {
+						result.peak_closed = memory.size();
+						return result.stop(limit, best < 0 ? null : arena.board(best, board));
+					}
+				} else {
+					result.duplicates++;
+				}
+				scratch.unmake_move(code);
+			}
+			node = possible_successors.pop();
+			if (candidate >= 0 && (node < 0 || arena.get_g(node) + arena.get_h(node) >= candidate_cost)) {
+				// every path through the frontier costs at least the candidate, and only this completion counts as a hit
+				result.peak_closed = memory.size();
+				return result.finish(SearchResult.Outcome.SOLVED, cache.complete(arena.board(candidate, board)));
+			}
+			if (node < 0) {
+				result.peak_closed = memory.size();
+				return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+			}
+			if (best < 0 || arena.get_h(node) < arena.get_h(best)) {
+				best = node;
+			}
+			int distance = cache == null ? -1 : cache.peek(arena.get_state(node), arena.get_state_hi(node));
+			if (distance >= 0 && arena.get_g(node) + distance < candidate_cost) {
+				candidate = node;
+				candidate_cost = arena.get_g(node) + distance;
+			}
+			scratch.load(arena.get_state(node), arena.get_state_hi(node), arena.get_conflicts(node), arena.get_wd_rows(node), arena.get_wd_cols(node));
+		}
+		result.peak_closed = memory.size();
+		return result.finish(SearchResult.Outcome.SOLVED, arena.board(node, board));
+	}
+
+	/**
+	 * This method creates an empty frontier of the type chosen by open_list(String).
+	 * 
+	 * @return The empty frontier.
+	 */
+	private IntOpenList new_open_list() {
+		if ("heap".equals(open_list_type)) {
+			return new IntHeapOpenList();
+		}
+		return new IntBucketOpenList();
+	}
+
+	/**
+	 * This method solves the puzzle from its current state by adap8ng local beam search with k states.
+	 * 
+	 * @param k The number states allowed for local beam search.
+	 * 
+	 * @return The statistics of the search, which ends early when the budget runs out or no new state is left.
+	 */
+	SearchResult beam(Board board, int k) {
+		return beam(board, k, 0, null, "LOCAL BEAM WITH K=" + k);
+	}
+
+	/**
+	 * This method solves the puzzle from its current state by stochastic beam search with k states. Instead of
+	 * the k children with the lowest f(n), it samples k children without replacement, each with a weight of
+	 * exp(-f(n) / temperature), so a higher temperature explores more and 0 is the same as local beam search.
+	 * 
+	 * @param board The initial board.
+	 * @param k The number of states kept.
+	 * @param temperature How much the sample may favour children with higher f(n).
+	 * @param seed The seed of the sample.
+	 * 
+	 * @return The statistics of the search, which ends early when the budget runs out or no new state is left.
+	 */
+	SearchResult stochastic_beam(Board board, int k, double temperature, long seed) {
+		if (temperature < 0) {
+			throw new IllegalArgumentException("NEGATIVE TEMPERATURE " + temperature);
+		}
+		return beam(board, k, temperature, new SplittableRandom(seed), "STOCHASTIC BEAM WITH K=" + k + " T=" + temperature);
+	}
+
+	/**
+	 * This method runs beam search. Every iteration expands the whole beam, in parallel once it is wide
+	 * enough, and then offers the new children in order to a BeamSelection of size k. The key of a child is
+	 * its f(n), minus the temperature times Gumbel noise for the stochastic variant, since the k lowest of
+	 * those keys are a sample without replacement weighted by exp(-f(n) / temperature). The beam holds the
+	 * ids of nodes in a NodeArena, so a child only becomes a Board if it is returned.
+	 * 
+	 * @param board The initial board.
+	 * @param k The number of states kept.
+	 * @param temperature The temperature, or 0 to keep the k children with the lowest f(n).
+	 * @param rng The source of the noise, or null when the temperature is 0.
+	 * @param algorithm The name of the search.
+	 * 
+	 * @return The statistics of the search.
+	 */
+	private SearchResult beam(Board board, int k, double temperature, RandomGenerator rng, String algorithm) {
+		BeamSelection selection = new BeamSelection(k);
+		SearchResult result = new SearchResult(algorithm);
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		Budget budget = budget(NodeArena.node_bytes);
+		memory = ClosedSet.of(board);
+		memory.add(board.get_state(), board.get_state_hi());
+		Geometry geometry = Geometry.of(board.get_dim());
+		NodeArena arena = new NodeArena(board.get_dim());
+		int[] successors = {arena.add(board.get_state(), board.get_state_hi(), board.get_g(), board.get_h(), -1, -1)};
+		int best = -1;
+		result.generated = 1;
+		if (board.isGoal()) {
+			// the goal is only checked among children, and the child that would lead back here is never made
+			result.peak_closed = memory.size();
+			return result.finish(SearchResult.Outcome.SOLVED, board);
+		}
+		while (successors.length > 0) {
+			Children childs = expand(board, arena, successors);
+			result.expanded += successors.length;
+			for (int slot = 0; slot < childs.h.length; slot++) {
+				int h = childs.h[slot];
+				if (h < 0) {
+					continue;
+				}
+				long state = childs.states[slot];
+				long state_hi = childs.states_hi == null ? 0 : childs.states_hi[slot];
+				int parent = successors[slot >>> 2];
+				int g = arena.get_g(parent) + 1;
+				if (state == geometry.goal && state_hi == geometry.goal_hi) {
+					int goal = arena.add(state, state_hi, g, h, parent, slot & 3);
+					result.peak_closed = memory.size();
+					return result.finish(SearchResult.Outcome.SOLVED, arena.board(goal, board));
+				}
+				if (memory.add(state, state_hi)) {
+					int child = arena.add(state, state_hi, g, h, parent, slot & 3);
+					double key = g + h;
+					if (temperature > 0) {
+						key -= temperature * -Math.log(-Math.log(1 - rng.nextDouble()));
+					}
+					selection.offer(child, key);
+					result.open(selection.size());
+					if (best < 0 || h < arena.get_h(best)) {
+						best = child;
+					}
+					result.generated++;
+					Budget.Limit limit = budget.check(result.generated, selection.size() + memory.size());
+					if (limit != null) {
+						result.peak_closed = memory.size();
+						return result.stop(limit, arena.board(best, board));
+					}
+				} else {
+					result.duplicates++;
+				}
+			}
+			successors = selection.drain();
+		}
+		result.peak_closed = memory.size();
+		return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+	}
+
+	/**
+	 * The children of a beam as packed states and h2, in slot 4i + code for the move code of member i.
+	 */
+	private static final class Children {
+		final long[] states;
+		// only used by 5x5 boards
+		final long[] states_hi;
+		// -1 in the slots of moves that leave the board or undo the move that created the member
+		final int[] h;
+
+		Children(int slots, int dim) {
+			this.states = new long[slots];
+			this.states_hi = dim > 4 ? new long[slots] : null;
+			this.h = new int[slots];
+		}
+	}
+
+	/**
+	 * This method generates the children of every node in the beam, with h2 already computed. The beam is
+	 * split into chunks of parallel_chunk members, and each chunk copies the initial board once and loads
+	 * its members into that copy in turn, so the tasks neither allocate a board per member nor look up the
+	 * shared Geometry. Since the children of member i are in slots 4i to 4i + 3 the result does not depend
+	 * on how the work is split.
+	 * 
+	 * @param root The initial board, which is only copied.
+	 * @param arena The nodes of the search.
+	 * @param beam The ids of the nodes to expand.
+	 * 
+	 * @return The children.
+	 */
+	private static Children expand(Board root, NodeArena arena, int[] beam) {
+		Children childs = new Children(beam.length * 4, root.get_dim());
+		IntStream chunks = IntStream.range(0, (beam.length + parallel_chunk - 1) / parallel_chunk);
+		if (beam.length >= parallel_beam) {
+			chunks = chunks.parallel();
+		}
+		chunks.forEach(chunk -> {
+			Board k_board = root.copy();
+			int end = Math.min(beam.length, (chunk + 1) * parallel_chunk);
+			for (int i = chunk * parallel_chunk; i < end; i++) {
+				k_board.load(arena.get_state(beam[i]), arena.get_state_hi(beam[i]));
+				Arrays.fill(childs.h, 4 * i, 4 * i + 4, -1);
+				for (byte code : k_board.successors(arena.get_move(beam[i]))) {
+					int slot = 4 * i + code;
+					k_board.make_move(code);
+					k_board.find_h2();
+					childs.states[slot] = k_board.get_state();
+					if (childs.states_hi != null) {
+						childs.states_hi[slot] = k_board.get_state_hi();
+					}
+					childs.h[slot] = k_board.get_h();
+					k_board.unmake_move(code);
+				}
+			}
+		});
+		return childs;
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using iterative-deepening A-star search.
+	 * Each iteration is a depth-first search that makes and unmakes moves on a single board, never undoes
+	 * the previous move, and cuts off every node whose f(n) is above the threshold. The next threshold is
+	 * the lowest f(n) that was cut off. Nothing is stored per node apart from the optional transposition
+	 * table, so the node limit only bounds the work. The peak open list size is the deepest path, and
+	 * the peak closed set size is the number of transposition table entries.
+	 * 
+	 * @param board The initial board.
+	 * @param heuristic The heuristic used for h(n).
+	 * 
+	 * @return The statistics of the search, which ends early when the budget runs out or the board can not be solved.
+	 */
+	SearchResult ida(Board board, Heuristic heuristic) {
+		SearchResult result = new SearchResult("IDA* " + heuristic);
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		Board walker = board.copy();
+		walker.find_h(heuristic);
+		TranspositionTable table = null;
+		if (transposition_entries > 0) {
+			table = new TranspositionTable(transposition_entries);
+			result.peak_closed = transposition_entries;
+		}
+		ida_moves = new byte[64];
+		ida_result = result;
+		ida_budget = budget();
+		ida_limit = null;
+		ida_best = walker.get_h();
+		ida_best_moves = new byte[0];
+		ida_depth = -1;
+		result.generated = 1;
+
+		int threshold = walker.get_h();
+		for (int iteration = 1; ida_depth < 0; iteration++) {
+			int next = ida_search(walker, threshold, -1, heuristic, table, iteration);
+			if (next == overflow) {
+				// replay the closest path on the given board, so it has a path like the other searches
+				Board best = board;
+				for (byte code : ida_best_moves) {
+					best = best.move(code);
+				}
+				best.find_h(heuristic);
+				return result.stop(ida_limit, best);
+			}
+			if (next == Integer.MAX_VALUE) {
+				return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+			}
+			threshold = next;
+		}
+		// replay the moves on the given board so the path includes its ancestors like the other searches
+		Board solution = board;
+		for (int i = 0; i < ida_depth; i++) {
+			solution = solution.move(ida_moves[i]);
+		}
+		return remember(board, result.finish(SearchResult.Outcome.SOLVED, solution));
+	}
+
+	/**
+	 * This method runs one depth-first iteration of IDA-star below the given board.
+	 * 
+	 * @param node The board, which is moved in place and restored before returning.
+	 * @param threshold The highest f(n) searched in this iteration.
+	 * @param last The move that led to this board, or -1 at the root.
+	 * @param heuristic The heuristic used for h(n).
+	 * @param table The transposition table, or null.
+	 * @param iteration The number of this iteration, starting at 1.
+	 * 
+	 * @return found if the goal was reached, overflow if the budget ran out, otherwise the lowest f(n) above the threshold.
+	 */
+	private int ida_search(Board node, int threshold, int last, Heuristic heuristic, TranspositionTable table, int iteration) {
+		int f = node.get_g() + node.get_h();
+		if (f > threshold) {
+			return f;
+		}
+		if (node.isGoal()) {
+			ida_depth = node.get_g();
+			return found;
+		}
+		ida_result.expanded++;
+		ida_result.open(node.get_g() + 1);
+		int min = Integer.MAX_VALUE;
+		// moving straight back can never be part of a shortest path
+		for (byte code : node.successors(last)) {
+			node.make_move(code);
+			int result = Integer.MAX_VALUE;
+			if (table == null || !table.visit(node.get_state(), node.get_state_hi(), node.get_g(), iteration)) {
+				ida_result.generated++;
+				ida_limit = ida_budget.check(ida_result.generated, node.get_g());
+				if (ida_limit != null) {
+					node.unmake_move(code);
+					return overflow;
+				}
+				if (node.get_g() > ida_moves.length) {
+					ida_moves = Arrays.copyOf(ida_moves, ida_moves.length * 2);
+				}
+				ida_moves[node.get_g() - 1] = code;
+				node.find_h(heuristic);
+				if (node.get_h() < ida_best) {
+					ida_best = node.get_h();
+					ida_best_moves = Arrays.copyOf(ida_moves, node.get_g());
+				}
+				result = ida_search(node, threshold, code, heuristic, table, iteration);
+			} else {
+				ida_result.duplicates++;
+			}
+			node.unmake_move(code);
+			if (result == found || result == overflow) {
+				return result;
+			}
+			min = Math.min(min, result);
+		}
+		return min;
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using hash-distributed A-star search on several threads.
+	 * Each thread owns the states that hash to it and runs its own open list, so a single hard search uses every core.
+	 * With an admissible heuristic the solution is optimal. The CPU time is the sum over all workers.
+	 * 
+	 * @param board The initial board.
+	 * @param heuristic The heuristic used for h(n).
+	 * @param threads The number of worker threads.
+	 * 
+	 * @return The statistics of the search, which ends early when the budget runs out or the board can not be solved.
+	 */
+	SearchResult hda(Board board, Heuristic heuristic, int threads) {
+		SearchResult result = new SearchResult("HDA* " + heuristic);
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		HashDistributedSearch search = new HashDistributedSearch(threads, heuristic, budget());
+		Board solution = search.solve(board);
+		search.count(result);
+		if (search.get_limit() != null) {
+			return result.stop(search.get_limit(), search.get_best());
+		}
+		if (solution == null) {
+			return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+		}
+		return remember(board, result.finish(SearchResult.Outcome.SOLVED, solution));
+	}
+
+	/**
+	 * This method solves the puzzle from its current state using bidirectional A-star search, expanding
+	 * forward from the board and backward from the goal until the two frontiers meet on an optimal path.
+	 * 
+	 * @param board The initial board.
+	 * @param heuristic The heuristic used for h(n) in the forward direction.
+	 * 
+	 * @return The statistics of the search, which ends early when the budget runs out or the board can not be solved.
+	 */
+	SearchResult bidirectional(Board board, Heuristic heuristic) {
+		SearchResult result = new SearchResult("BIDIRECTIONAL A* " + heuristic);
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		BidirectionalSearch search = new BidirectionalSearch(heuristic, budget());
+		List<String> moves = search.solve(board);
+		search.count(result);
+		if (search.get_limit() != null) {
+			return result.stop(search.get_limit(), search.get_best());
+		}
+		if (moves == null) {
+			return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+		}
+		// replay the moves on the given board so the path includes its ancestors like the other searches
+		Board solution = board;
+		for (String move : moves) {
+			solution = solution.move(move);
+		}
+		return remember(board, result.finish(SearchResult.Outcome.SOLVED, solution));
+	}
+
+	/**
+	 * This method solves the puzzle from its current state with anytime repairing A-star. A first solution comes
+	 * from A-star with h(n) inflated by the initial weight, and the weight is lowered by the step after each
+	 * solution while the search state is reused, until the solution is proven optimal or the time is up.
+	 * 
+	 * @param board The initial board.
+	 * @param heuristic The heuristic used for h(n).
+	 * @param time_limit The time in milliseconds after which the best solution so far is returned, or 0 for only the solver's limit.
+	 * @param initial_weight The first weight, at least 1.
+	 * @param step How much the weight is lowered after each solution.
+	 * 
+	 * @return The statistics of the search with the best solution and its proven bound, or without a solution when none
+	 *         was found before the budget ran out. The time limit of the solver applies too, if it is shorter.
+	 */
+	SearchResult anytime(Board board, Heuristic heuristic, long time_limit, double initial_weight, double step) {
+		SearchResult result = new SearchResult("ARA* " + heuristic);
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		// the first use of the pattern database loads it, which should not count against the time limit
+		board.copy().find_h(heuristic);
+		// a limit of 0 means none, so only the positive limits compete
+		long limit = time_limit <= 0 ? this.time_limit : this.time_limit <= 0 ? time_limit : Math.min(time_limit, this.time_limit);
+		AnytimeSearch search = new AnytimeSearch(heuristic, new Budget(max_node, limit * 1000000, memory_limit, token));
+		Board goal = search.solve(board, initial_weight, step);
+		search.count(result);
+		if (goal == null) {
+			if (search.get_limit() != null) {
+				return result.stop(search.get_limit(), search.get_best());
+			}
+			return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+		}
+		result.bound = search.get_bound();
+		// replay the moves on the given board so the path includes its ancestors like the other searches
+		Board solution = board;
+		for (String move : goal.get_path()) {
+			solution = solution.move(move);
+		}
+		result.finish(SearchResult.Outcome.SOLVED, solution);
+		return result.get_bound() == 1 ? remember(board, result) : result;
+	}
+
+	/**
+	 * This method solves the puzzle from its current state with breadth-first iterative deepening A-star, keeping
+	 * every layer of the search in sorted files instead of the heap, so the search is only limited by the disk.
+	 * Duplicates are found by merging the sorted files, and the solution is optimal.
+	 * 
+	 * @param board The initial board, which has to be at most 4x4.
+	 * @param heuristic The heuristic used for h(n).
+	 * 
+	 * @return The statistics of the search, which is UNSOLVABLE when the board is larger than 4x4 or can not be solved.
+	 *         With a memory limit, it sets the size of the sorting buffer instead of stopping the search.
+	 * @throws UncheckedIOException When the files can not be written or read.
+	 */
+	SearchResult external(Board board, Heuristic heuristic) {
+		SearchResult result = new SearchResult("EXTERNAL BFIDA* " + heuristic);
+		if (board.get_dim() > 4 || !board.is_solvable()) {
+			return result.finish(SearchResult.Outcome.UNSOLVABLE, null);
+		}
+		SearchResult cached = cached(result, board);
+		if (cached != null) {
+			return cached;
+		}
+		board.copy().find_h(heuristic);
+		// without a memory limit the buffer takes at most a quarter of the heap
+		long run_size = memory_limit > 0 ? memory_limit / Long.BYTES : Math.min(external_run, Runtime.getRuntime().maxMemory() / 4 / Long.BYTES);
+		ExternalSearch search = new ExternalSearch(heuristic, new Budget(max_node, time_limit * 1000000, 0, token),
+				external_directory, (int) Math.max(1024, Math.min(run_size, Integer.MAX_VALUE - 8)));
+		List<String> moves;
+		try {
+			moves = search.solve(board);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		search.count(result);
+		if (moves == null) {
+			if (search.get_limit() != null) {
+				// replay the closest path on the given board, so it has a path like the other searches
+				Board best = board;
+				for (String move : search.get_best()) {
+					best = best.move(move);
+				}
+				best.find_h(heuristic);
+				return result.stop(search.get_limit(), best);
+			}
+			return result.finish(SearchResult.Outcome.EXHAUSTED, null);
+		}
+		// replay the moves on the given board so the path includes its ancestors like the other searches
+		Board solution = board;
+		for (String move : moves) {
+			solution = solution.move(move);
+		}
+		return remember(board, result.finish(SearchResult.Outcome.SOLVED, solution));
+	}
+
+	/**
+	 * This method solves a 3x3 puzzle without searching, by following the precomputed distance oracle.
+	 * Every step takes the move the oracle stores for the current state, so the solution is optimal and
+	 * costs one table lookup per move.
+	 * 
+	 * @param board The initial board, which has to be 3x3.
+	 * 
+	 * @return The statistics of the walk, which is UNSOLVABLE when the board is not 3x3 or can not be solved.
+	 */
+	SearchResult oracle(Board board) {
+		if (board.get_dim() != 3 || !board.is_solvable()) {
+			return new SearchResult("ORACLE").finish(SearchResult.Outcome.UNSOLVABLE, null);
+		}
+		// the first use loads the table, which is not part of the walk
+		DistanceOracle oracle = DistanceOracle.get();
+		SearchResult result = new SearchResult("ORACLE");
+		Board solution = board;
+		result.generated = 1;
+		while (!solution.isGoal()) {
+			solution = solution.move(oracle.best_move(solution.get_state()));
+			result.expanded++;
+			result.generated++;
+		}
+		return result.finish(SearchResult.Outcome.SOLVED, solution);
+	}
+
+	/**
+	 * This method answers a search from the solution cache when the initial board is on a cached solution.
+	 * 
+	 * @param result The result of the search, which has not started yet.
+	 * @param board The initial board.
+	 * 
+	 * @return The finished result, or null if the search has to run.
+	 */
+	private SearchResult cached(SearchResult result, Board board) {
+		Board goal = cache == null ? null : cache.complete(board);
+		if (goal == null) {
+			return null;
+		}
+		result.generated = 1;
+		return result.finish(SearchResult.Outcome.SOLVED, goal);
+	}
+
+	/**
+	 * This method stores the solution of an optimal search in the solution cache. A-star and local beam
+	 * search close states when they are generated, which can miss a shorter path, so they only read the cache.
+	 * 
+	 * @param board The initial board.
+	 * @param result The finished result.
+	 * 
+	 * @return The result.
+	 */
+	private SearchResult remember(Board board, SearchResult result) {
+		if (cache != null && result.is_solved()) {
+			cache.store(board, result.get_solution());
+		}
+		return result;
+	}
+
+	/**
+	 * This method sets the solution cache shared with other solvers.
+	 * 
+	 * @param cache The cache, or null to search without one.
+	 */
+	void solution_cache(SolutionCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * This method sets the number of entries of the transposition table used by IDA-star.
+	 * 
+	 * @param entries The number of entries, or 0 to search without a table.
+	 */
+	void transposition_table(int entries) {
+		transposition_entries = entries;
+		out.println("TRANSPOSITION TABLE SET TO " + entries);
+	}
+
+	/**
+	 * This method sets the maximum number of nodes to be considered during a search.
+	 * 
+	 * @param n The maximum number of nodes.
+	 */
+	void max_nodes(int n) {
+		max_node = n;
+		out.println("MAX NODE SET TO " + n);
+	}
+
+	/**
+	 * This method sets the wall time each search may take.
+	 * 
+	 * @param ms The time in milliseconds, or 0 for no limit.
+	 */
+	void time_limit(long ms) {
+		time_limit = ms;
+		out.println("TIME LIMIT SET TO " + ms + " MS");
+	}
+
+	/**
+	 * This method sets the approximate number of bytes the open and closed lists of each search may hold.
+	 * 
+	 * @param bytes The number of bytes, or 0 for no limit.
+	 */
+	void memory_limit(long bytes) {
+		memory_limit = bytes;
+		out.println("MEMORY LIMIT SET TO " + bytes + " BYTES");
+	}
+
+	/**
+	 * This method sets the token other threads can use to cancel the searches of this solver.
+	 * 
+	 * @param token The token, or null.
+	 */
+	void cancellation(CancellationToken token) {
+		this.token = token;
+	}
+
+	/**
+	 * This method sets the directory in which the external search keeps its files.
+	 * 
+	 * @param directory The directory, which has to exist.
+	 */
+	void external_directory(Path directory) {
+		if (!Files.isDirectory(directory)) {
+			throw new IllegalArgumentException("NOT A DIRECTORY " + directory);
+		}
+		external_directory = directory;
+		out.println("EXTERNAL DIRECTORY SET TO " + directory);
+	}
+
+	/**
+	 * This method starts the budget of a search from the limits of this solver.
+	 * 
+	 * @return The budget, whose time starts now.
+	 */
+	private Budget budget() {
+		return budget(Budget.node_bytes);
+	}
+
+	/**
+	 * This method starts the budget of a search that stores its nodes more compactly than as Board objects.
+	 * 
+	 * @param node_bytes The approximate number of bytes a stored node takes.
+	 * 
+	 * @return The budget, whose time starts now.
+	 */
+	private Budget budget(int node_bytes) {
+		return new Budget(max_node, time_limit * 1000000, memory_limit, token, node_bytes);
+	}
+
+	/**
+	 * This method discards everything the searches would print, for solves that run concurrently.
+	 */
+	void quiet() {
+		out = new PrintStream(OutputStream.nullOutputStream());
+	}
+
+	/**
+	 * This method sets the frontier used by A-star search.
+	 * 
+	 * @param type Either "heap" for a binary heap or "bucket" for a bucket queue indexed by f(n) and h(n).
+	 */
+	void open_list(String type) {
+		if (!"heap".equals(type) && !"bucket".equals(type)) {
+			throw new IllegalArgumentException("UNKNOWN OPEN LIST " + type);
+		}
+		open_list_type = type;
+		out.println("OPEN LIST SET TO " + type);
+	}
+
+	/**
+	 * Runs the experiment for part 3 of write up.
+	 * Every board and node limit is an independent task, so they are spread over all cores by BatchRunner.
+	 * The seeds are drawn up front in a fixed order, so the statistics do not depend on scheduling.
+	 */
+	@SuppressWarnings("unused")
+	private void run_experiment() {
+		try {
+			FileWriter writer = new FileWriter("output_statistics.txt");
+			List<Integer> max_node_list = new ArrayList<Integer>();
+			max_node_list.add(500);
+			max_node_list.add(1000);
+			max_node_list.add(3000);
+			max_node_list.add(5000);
+			max_node_list.add(7000);
+			max_node_list.add(10000);
+			max_node_list.add(15000);
+			SplittableRandom seeds = new SplittableRandom(12345);
+			List<BatchRunner.Task> tasks = new ArrayList<BatchRunner.Task>();
+			for (Integer max_nodes : max_node_list) {
+				for (int i = 0; i < 100; i++) {
+					tasks.add(new BatchRunner.Task(seeds.nextLong(), -1, max_nodes));
+				}
+			}
+			BatchRunner runner = new BatchRunner(Runtime.getRuntime().availableProcessors());
+			long start = System.nanoTime();
+			List<BatchRunner.Result> results = runner.run(tasks);
+			long end = System.nanoTime();
+			out.println("RAN " + tasks.size() + " TASKS IN " + (end - start) + " NS");
+			for (Integer max_nodes : max_node_list) {
+				int h1_failed = 0;
+				int h2_failed = 0;
+				int b_failed = 0;
+				int lc_failed = 0;
+				int wd_failed = 0;
+				for (BatchRunner.Result result : results) {
+					if (result.task.max_nodes != max_nodes) {
+						continue;
+					}
+					h1_failed += result.solved[0] ? 0 : 1;
+					h2_failed += result.solved[1] ? 0 : 1;
+					b_failed += result.solved[2] ? 0 : 1;
+					lc_failed += result.solved[3] ? 0 : 1;
+					wd_failed += result.solved[4] ? 0 : 1;
+				}
+				writer.write("USING MAX NODES = " + max_nodes);
+				writer.write(System.getProperty("line.separator"));
+				writer.write("H1 FAILED " + h1_failed + ", FAILURE RATE = " + h1_failed + "%");
+				writer.write(System.getProperty("line.separator"));
+				writer.write("H2 FAILED " + h2_failed + ", FAILURE RATE = " + h2_failed + "%");
+				writer.write(System.getProperty("line.separator"));
+				writer.write("BEAM FAILED " + b_failed + ", FAILURE RATE = " + b_failed + "%");
+				writer.write(System.getProperty("line.separator"));
+				writer.write("LC FAILED " + lc_failed + ", FAILURE RATE = " + lc_failed + "%");
+				writer.write(System.getProperty("line.separator"));
+				writer.write("WD FAILED " + wd_failed + ", FAILURE RATE = " + wd_failed + "%");
+				writer.write(System.getProperty("line.separator"));
+				writer.write(System.getProperty("line.separator"));
+			}
+			writer.close();
+		} catch (IOException e) {
+			out.println("An error occurred.");
+			out.println(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			out.println("EXPERIMENT INTERRUPTED.");
+		}
+	}
+
+	/**
+	 * Runs the experiment and then the commands in input.txt, printing the same report as always.
+	 * 
+	 * With arguments, only the commands are run: "java puzzle.Solver [file | -] [--format text|jsonl|csv] [--output file]".
+	 * The commands are read from the file, or from stdin for "-", and the results are written to the output file or stdout.
+	 * 
+	 * With --serve, the commands come from connections to a SolverService on the loopback address instead:
+	 * "java puzzle.Solver --serve port [--workers n] [--cache entries] [--format text|jsonl|csv]", where port 0
+	 * picks a free port, the workers default to one per processor and the shared cache to 100000 entries.
+	 */
+	public static void main(String[] args) throws Exception {
+		String input = "input.txt";
+		String format = "text";
+		String output = null;
+		int port = -1;
+		int workers = Runtime.getRuntime().availableProcessors();
+		int cache_entries = 100000;
+		if (args.length == 0) {
+			Solver solver = new Solver();
+			solver.run_experiment();
+		}
+		for (int i = 0; i < args.length; i++) {
+			if ("--format".equals(args[i]) && i + 1 < args.length) {
+				format = args[++i];
+			} else if ("--output".equals(args[i]) && i + 1 < args.length) {
+				output = args[++i];
+			} else if ("--serve".equals(args[i]) && i + 1 < args.length) {
+				port = Integer.parseInt(args[++i]);
+			} else if ("--workers".equals(args[i]) && i + 1 < args.length) {
+				workers = Integer.parseInt(args[++i]);
+			} else if ("--cache".equals(args[i]) && i + 1 < args.length) {
+				cache_entries = Integer.parseInt(args[++i]);
+			} else {
+				input = args[i];
+			}
+		}
+		if (port >= 0) {
+			try (SolverService service = new SolverService(port, workers, format, cache_entries > 0 ? new SolutionCache(cache_entries) : null)) {
+				service.warm_up(32);
+				System.out.println("SERVING ON " + InetAddress.getLoopbackAddress().getHostAddress() + ":" + service.get_port()
+						+ " WITH " + workers + " WORKERS");
+				service.run();
+			}
+			return;
+		}
+		ResultWriter writer = ResultWriter.of(format, output == null ? System.out : new FileOutputStream(output));
+		try (CommandReader commands = new CommandReader("-".equals(input)
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+				: new BufferedReader(new FileReader(input, StandardCharsets.UTF_8), 1 << 16))) {
+			new CommandProcessor(writer).run(commands.stream());
+		} catch (IOException e) {
+			System.out.println("an error occurred.");
+			System.out.println(e);
+		} finally {
+			if (output != null) {
+				writer.close();
+			}
+		}
+	}
+}
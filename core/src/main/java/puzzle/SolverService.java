@@ -0,0 +1,380 @@
+package puzzle;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A long-running solver that serves the command language over a loopback TCP socket, so a batch of
+ * puzzles does not pay for starting a JVM, warming up the JIT and building the heuristic tables.
+ * 
+ * Every connection is a session of its own, with its own board and solver settings, and gets the
+ * output of a CommandProcessor back after each command. Connections run on virtual threads where the
+ * JVM has them, and otherwise on a cached pool. Their solve commands do not search on the connection's
+ * thread. They are queued, and a dispatcher takes everything waiting as one batch, orders it by h2 so
+ * quick boards are not held up behind hard ones that arrived with them, and hands it to a fixed pool
+ * of workers one job per idle worker. Every session reads and fills one shared solution cache, and
+ * every result reports how long it waited in the queue and how long it took to solve.
+ */
+public class SolverService implements Closeable {
+	private static final int max_batch = 256;
+	// how often a session waiting for a search checks whether its client is still there, in milliseconds
+	private static final int hang_up_interval = 100;
+
+	private final ServerSocket server;
+	private final String format;
+	private final SolutionCache cache;
+	private final ExecutorService connections;
+	private final ExecutorService workers;
+	// one permit per idle worker, so jobs wait in the queue rather than in the pool
+	private final Semaphore idle;
+	private final BlockingQueue<Job> queue = new LinkedBlockingQueue<Job>();
+	private final Thread dispatcher;
+	private final Set<Socket> open_connections = ConcurrentHashMap.newKeySet();
+	private final AtomicLong served = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong queue_wait = new AtomicLong();
+	private final AtomicLong max_queue_wait = new AtomicLong();
+	private final AtomicLong solve_time = new AtomicLong();
+
+	/**
+	 * One solve command waiting for a worker.
+	 */
+	private static final class Job {
+		final Callable<SearchResult> search;
+		final int estimate;
+		final long queued = System.nanoTime();
+		final CompletableFuture<SearchResult> done = new CompletableFuture<SearchResult>();
+
+		/**
+		 * @param search The search to run.
+		 * @param estimate The h2 of the board, which orders the jobs of a batch.
+		 */
+		Job(Callable<SearchResult> search, int estimate) {
+			this.search = search;
+			this.estimate = estimate;
+		}
+	}
+
+	/**
+	 * This constructor binds the socket and starts the workers, but accepts no connection until run().
+	 * 
+	 * @param port The port on the loopback address, or 0 for any free port.
+	 * @param threads The number of workers.
+	 * @param format The output format of every connection, as in ResultWriter.of.
+	 * @param cache The solution cache shared by every connection, or null.
+	 * @throws IOException When the port can not be bound.
+	 */
+	SolverService(int port, int threads, String format, SolutionCache cache) throws IOException {
+		// fail before binding if the format is unknown
+		ResultWriter.of(format, OutputStream.nullOutputStream());
+		this.format = format;
+		this.cache = cache;
+		this.server = new ServerSocket(port, 64, InetAddress.getLoopbackAddress());
+		this.connections = connection_executor();
+		this.workers = Executors.newFixedThreadPool(Math.max(1, threads));
+		this.idle = new Semaphore(Math.max(1, threads));
+		this.dispatcher = new Thread(this::dispatch, "solver-service-dispatcher");
+		dispatcher.setDaemon(true);
+		dispatcher.start();
+	}
+
+	/**
+	 * This method creates the executor that runs one connection per thread. Virtual threads are only
+	 * final from Java 21 on and the build targets Java 17, so they are looked up by reflection.
+	 * 
+	 * @return A virtual thread per task executor, or a cached pool of platform threads.
+	 */
+	private static ExecutorService connection_executor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * This method gets the port the service listens on.
+	 * 
+	 * @return The port, which is chosen by the system if 0 was asked for.
+	 */
+	int get_port() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * This method solves a few random 3x3 boards with the common searches, so the JIT has compiled them
+	 * and the walking distance tables exist before the first connection.
+	 * 
+	 * @param boards The number of boards.
+	 */
+	void warm_up(int boards) {
+		WalkingDistance.get(3);
+		WalkingDistance.get(4);
+		SplittableRandom rng = new SplittableRandom(12345);
+		Solver solver = new Solver();
+		solver.quiet();
+		solver.max_nodes(100000);
+		for (int i = 0; i < boards; i++) {
+			Board board = StateGenerator.uniform(3, rng);
+			solver.astar_h2(board);
+			solver.astar_lc(board);
+			solver.astar_wd(board);
+			solver.ida(board, Heuristic.LC);
+			solver.beam(board, 20);
+		}
+	}
+
+	/**
+	 * This method accepts connections until the service is closed, serving each one on its own thread.
+	 * 
+	 * @throws IOException When accepting fails for another reason than the service being closed.
+	 */
+	void run() throws IOException {
+		while (!server.isClosed()) {
+			Socket socket;
+			try {
+				socket = server.accept();
+			} catch (SocketException e) {
+				if (server.isClosed()) {
+					return;
+				}
+				throw e;
+			}
+			connections.execute(() -> serve(socket));
+		}
+	}
+
+	/**
+	 * This method runs the commands of one connection, writing out the output of each command before
+	 * reading the next, until the client closes the connection or a setState fails. While a solve command
+	 * waits for its search, the connection is checked for the client closing or resetting it, which ends
+	 * the session, so a client has to keep its side open until it has read its results. However the
+	 * session ends, its token is cancelled, so a search it leaves running or queued gives its worker back
+	 * at the next budget check instead of running to the end for nobody.
+	 * 
+	 * @param socket The connection.
+	 */
+	private void serve(Socket socket) {
+		open_connections.add(socket);
+		CancellationToken token = new CancellationToken();
+		try (socket;
+				BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				CommandReader commands = new CommandReader(reader);
+				ResultWriter writer = ResultWriter.of(format, socket.getOutputStream())) {
+			CommandProcessor processor = new CommandProcessor(writer, this, cache, () -> hung_up(socket, reader));
+			processor.cancellation(token);
+			boolean more = true;
+			while (more && commands.hasNext()) {
+				more = processor.process(commands.next());
+				writer.flush();
+			}
+		} catch (IOException | UncheckedIOException e) {
+			// the client went away or the service is closing
+		} finally {
+			token.cancel();
+			open_connections.remove(socket);
+		}
+	}
+
+	/**
+	 * This method checks, without taking anything from the stream, whether the client has closed or reset
+	 * its connection. A command the client has already sent ahead stays in the reader.
+	 * 
+	 * @param socket The connection.
+	 * @param reader The reader of the commands of the connection.
+	 * 
+	 * @return Either the client has gone away or not.
+	 */
+	private static boolean hung_up(Socket socket, BufferedReader reader) {
+		try {
+			if (reader.ready()) {
+				return false;
+			}
+			socket.setSoTimeout(1);
+			reader.mark(1);
+			if (reader.read() < 0) {
+				return true;
+			}
+			reader.reset();
+			return false;
+		} catch (SocketTimeoutException e) {
+			// nothing arrived, and nothing was lost
+			return false;
+		} catch (IOException e) {
+			return true;
+		} finally {
+			try {
+				socket.setSoTimeout(0);
+			} catch (SocketException e) {
+				// the socket is closed, which the next read reports
+			}
+		}
+	}
+
+	/**
+	 * This method queues a search and waits for a worker to run it.
+	 * 
+	 * @param search The search, which may use the caller's board and solver since the caller waits.
+	 * @param estimate The h2 of the board.
+	 * @param hung_up Whether the client has gone away, checked every hang_up_interval while waiting.
+	 * 
+	 * @return The result, with its queue wait and solve time.
+	 * @throws InterruptedIOException When the calling thread is interrupted while it waits, which keeps the interrupt flag.
+	 * @throws IOException When the client goes away while the search waits or runs, so the caller stops waiting for it.
+	 */
+	SearchResult submit(Callable<SearchResult> search, int estimate, BooleanSupplier hung_up) throws IOException {
+		Job job = new Job(search, estimate);
+		queue.add(job);
+		try {
+			while (true) {
+				try {
+					return job.done.get(hang_up_interval, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (hung_up.getAsBoolean()) {
+						throw new SocketException("THE CLIENT CLOSED THE CONNECTION");
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("INTERRUPTED WHILE WAITING FOR A SOLVER");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * This method takes the waiting jobs in batches until the service is closed, and starts each job
+	 * once a worker is idle.
+	 */
+	private void dispatch() {
+		List<Job> batch = new ArrayList<Job>();
+		try {
+			while (true) {
+				batch.add(queue.take());
+				queue.drainTo(batch, max_batch - 1);
+				batch.sort(Comparator.comparingInt(job -> job.estimate));
+				batches.incrementAndGet();
+				for (Job job : batch) {
+					idle.acquire();
+					workers.execute(() -> work(job));
+				}
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			// the service is closing
+		}
+	}
+
+	/**
+	 * This method runs one job on a worker and records its timings.
+	 * 
+	 * @param job The job.
+	 */
+	private void work(Job job) {
+		long start = System.nanoTime();
+		try {
+			SearchResult result = job.search.call();
+			long end = System.nanoTime();
+			long wait = start - job.queued;
+			result.served(wait, end - start);
+			served.incrementAndGet();
+			queue_wait.addAndGet(wait);
+			max_queue_wait.accumulateAndGet(wait, Math::max);
+			solve_time.addAndGet(end - start);
+			job.done.complete(result);
+		} catch (Throwable e) {
+			job.done.completeExceptionally(e);
+		} finally {
+			idle.release();
+		}
+	}
+
+	int get_connections() {
+		return open_connections.size();
+	}
+
+	long get_served() {
+		return served.get();
+	}
+
+	long get_batches() {
+		return batches.get();
+	}
+
+	/**
+	 * This method gets the mean time a served search waited in the queue.
+	 * 
+	 * @return The mean wait in nanoseconds, or 0 before the first search.
+	 */
+	long get_mean_queue_wait() {
+		long n = served.get();
+		return n == 0 ? 0 : queue_wait.get() / n;
+	}
+
+	long get_max_queue_wait() {
+		return max_queue_wait.get();
+	}
+
+	/**
+	 * This method gets the mean time a served search took on its worker.
+	 * 
+	 * @return The mean solve time in nanoseconds, or 0 before the first search.
+	 */
+	long get_mean_solve_time() {
+		long n = served.get();
+		return n == 0 ? 0 : solve_time.get() / n;
+	}
+
+	/**
+	 * This method stops accepting connections, closes the open ones and stops the workers. The threads of
+	 * the connections are interrupted, so each one cancels the search it was waiting for.
+	 */
+	@Override
+	public void close() throws IOException {
+		server.close();
+		dispatcher.interrupt();
+		// a thread blocked reading a socket is not woken by an interrupt, only by closing the socket
+		for (Socket socket : open_connections) {
+			socket.close();
+		}
+		connections.shutdownNow();
+		workers.shutdownNow();
+	}
+}
@@ -1,3 +1,5 @@
+package puzzle;
+
 import java.util.Comparator;
 
 public class SortByFn implements Comparator<Board> {
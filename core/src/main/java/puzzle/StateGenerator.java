@@ -0,0 +1,181 @@
+package puzzle;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws start boards directly instead of scrambling the goal one move at a time.
+ * 
+ * A uniform board is the unranking of a uniformly random permutation: each Lehmer digit is drawn from its
+ * own radix and picks the tile for the next cell among the unused ones. Half of all permutations can not
+ * be solved, and swapping the tiles of the first two cells that are not blank pairs every unsolvable one
+ * with a distinct solvable one, so fixing the parity that way keeps the draw uniform over the solvable half.
+ * 
+ * A board at an exact distance has exactly that many moves in its shortest solution. 3x3 boards are drawn
+ * uniformly from the distance oracle, and larger boards are grown by a random walk that only keeps a move if
+ * a bounded depth-first search proves it takes the board one step further from the goal.
+ * 
+ * Every method takes the caller's SplittableRandom, so threads never share a generator.
+ */
+public class StateGenerator {
+	/**
+	 * This constructor is kept private to prevent instantiation.
+	 */
+	private StateGenerator() {
+		// intentionally left blank.
+	}
+
+	/**
+	 * This method draws a board uniformly from the solvable states of a dimension.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param rng The source of the draw.
+	 * 
+	 * @return The board, as a root board with g(n) = 0.
+	 */
+	static Board uniform(int dim, SplittableRandom rng) {
+		Geometry geometry = Geometry.of(dim);
+		int[] tiles = new int[geometry.cells];
+		// bit t is set while tile t, the blank being 0, is still unused
+		int unused = (int) ((1L << geometry.cells) - 1);
+		for (int cell = 0; cell < geometry.cells; cell++) {
+			int digit = rng.nextInt(geometry.cells - cell);
+			int candidates = unused;
+			for (int skip = 0; skip < digit; skip++) {
+				candidates &= candidates - 1;
+			}
+			tiles[cell] = Integer.numberOfTrailingZeros(candidates);
+			unused &= ~(1 << tiles[cell]);
+		}
+		Board board = pack(geometry, tiles);
+		if (board.is_solvable()) {
+			return board;
+		}
+		// swapping two tiles flips the parity of the inversions and leaves the blank where it is
+		int first = tiles[0] != 0 ? 0 : 1;
+		int second = tiles[first + 1] != 0 ? first + 1 : first + 2;
+		int tile = tiles[first];
+		tiles[first] = tiles[second];
+		tiles[second] = tile;
+		return pack(geometry, tiles);
+	}
+
+	/**
+	 * This method draws a board whose shortest solution has exactly the given number of moves.
+	 * 
+	 * @param dim The number of rows and columns.
+	 * @param distance The number of moves.
+	 * @param rng The source of the draw.
+	 * 
+	 * @return The board, as a root board with g(n) = 0.
+	 * @throws IllegalArgumentException When no board of the dimension is that far from the goal.
+	 */
+	static Board at_distance(int dim, int distance, SplittableRandom rng) {
+		if (distance < 0) {
+			throw new IllegalArgumentException("INVALID DISTANCE " + distance);
+		}
+		Geometry geometry = Geometry.of(dim);
+		if (dim == 3) {
+			DistanceOracle oracle = DistanceOracle.get();
+			// reservoir sampling keeps each match with probability 1 / matches, in one pass over the table
+			int chosen = -1;
+			int matches = 0;
+			for (int index = 0; index < Permutation.rank_count; index++) {
+				if (oracle.distance_at(index) == distance && rng.nextInt(++matches) == 0) {
+					chosen = index;
+				}
+			}
+			if (chosen < 0) {
+				throw new IllegalArgumentException("NO " + dim + "x" + dim + " BOARD IS " + distance + " MOVES FROM THE GOAL");
+			}
+			return Board.unpack(dim, Permutation.unrank(chosen), 0);
+		}
+		Board board = Board.unpack(dim, geometry.goal, geometry.goal_hi);
+		if (!walk(board, 0, distance, -1, rng)) {
+			throw new IllegalArgumentException("NO " + dim + "x" + dim + " BOARD IS " + distance + " MOVES FROM THE GOAL");
+		}
+		return board.copy();
+	}
+
+	/**
+	 * This method extends a walk whose board is exactly depth moves from the goal. A move changes the
+	 * distance by one and the parity of the distance always follows the number of moves, so the board after
+	 * a move is depth + 1 moves away unless it can be solved in depth - 1. The moves are tried in a random
+	 * order, and the walk backs up when none of them goes further.
+	 * 
+	 * @param board The board, moved in place and left at the end of the walk when it succeeds.
+	 * @param depth The number of moves made so far, which is also the distance of the board.
+	 * @param distance The distance to reach.
+	 * @param previous The last move of the walk, or -1 at the goal.
+	 * @param rng The source of the order of the moves.
+	 * 
+	 * @return Either the walk reached the distance or not, in which case the board is restored.
+	 */
+	private static boolean walk(Board board, int depth, int distance, int previous, SplittableRandom rng) {
+		if (depth == distance) {
+			return true;
+		}
+		byte[] codes = board.successors(previous);
+		int[] order = new int[codes.length];
+		for (int i = 0; i < codes.length; i++) {
+			int j = rng.nextInt(i + 1);
+			order[i] = order[j];
+			order[j] = codes[i];
+		}
+		for (int code : order) {
+			board.make_move(code);
+			if (!within(board, depth - 1, code) && walk(board, depth + 1, distance, code, rng)) {
+				return true;
+			}
+			board.unmake_move(code);
+		}
+		return false;
+	}
+
+	/**
+	 * This method checks whether a board can be solved within a number of moves, with one depth-first
+	 * iteration of IDA-star under linear conflicts.
+	 * 
+	 * @param board The board, moved in place and restored before returning.
+	 * @param bound The largest number of moves.
+	 * @param previous The move that led to the board, which is not undone, or -1.
+	 * 
+	 * @return Either a solution of at most bound moves exists or not.
+	 */
+	private static boolean within(Board board, int bound, int previous) {
+		board.find_h(Heuristic.LC);
+		int h = board.get_h();
+		if (h > bound) {
+			return false;
+		}
+		if (h == 0) {
+			return true;
+		}
+		for (byte code : board.successors(previous)) {
+			board.make_move(code);
+			boolean found = within(board, bound - 1, code);
+			board.unmake_move(code);
+			if (found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This method packs tiles into a root board.
+	 * 
+	 * @param geometry The geometry of the board.
+	 * @param tiles The tile of every cell, row major.
+	 * 
+	 * @return The board.
+	 */
+	private static Board pack(Geometry geometry, int[] tiles) {
+		long lo = 0;
+		long hi = 0;
+		for (int cell = 0; cell < tiles.length; cell++) {
+			lo = geometry.place(lo, cell, tiles[cell]);
+			hi = geometry.place_hi(hi, cell, tiles[cell]);
+		}
+		return Board.unpack(geometry.dim, lo, hi);
+	}
+}
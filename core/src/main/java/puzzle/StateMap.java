@@ -0,0 +1,104 @@
+package puzzle;
+
+/**
+ * A map from packed states to a non-negative int, such as the best g(n) a state was reached with.
+ * It uses the same open-addressing layout as HashClosedSet, so nothing is allocated per state.
+ */
+public class StateMap {
+	private long[] keys = new long[1 << 10];
+	private long[] keys_hi = new long[1 << 10];
+	private int[] values = new int[1 << 10];
+	private int size = 0;
+
+	/**
+	 * This method mixes both words of a state into a well-distributed hash, the finalizer of MurmurHash3.
+	 */
+	static int hash(long state, long state_hi) {
+		long h = state ^ (state_hi * 0x9E3779B97F4A7C15L);
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return (int) h;
+	}
+
+	/**
+	 * This method gets the value of a state.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * 
+	 * @return The value, or -1 if the state is not in the map.
+	 */
+	int get(long state, long state_hi) {
+		int mask = keys.length - 1;
+		int i = hash(state, state_hi) & mask;
+		while (keys[i] != 0) {
+			if (keys[i] == state && keys_hi[i] == state_hi) {
+				return values[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * This method sets the value of a state.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * @param value The value, which must not be negative.
+	 */
+	void put(long state, long state_hi, int value) {
+		if (2 * (size + 1) > keys.length) {
+			grow();
+		}
+		int mask = keys.length - 1;
+		int i = hash(state, state_hi) & mask;
+		while (keys[i] != 0) {
+			if (keys[i] == state && keys_hi[i] == state_hi) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = state;
+		keys_hi[i] = state_hi;
+		values[i] = value;
+		size++;
+	}
+
+	/**
+	 * This method gets the number of states in the map.
+	 * 
+	 * @return The size of the map.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * This method doubles the table and reinserts every state.
+	 */
+	private void grow() {
+		long[] old_keys = keys;
+		long[] old_keys_hi = keys_hi;
+		int[] old_values = values;
+		keys = new long[old_keys.length * 2];
+		keys_hi = new long[old_keys.length * 2];
+		values = new int[old_keys.length * 2];
+		int mask = keys.length - 1;
+		for (int j = 0; j < old_keys.length; j++) {
+			if (old_keys[j] != 0) {
+				int i = hash(old_keys[j], old_keys_hi[j]) & mask;
+				while (keys[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = old_keys[j];
+				keys_hi[i] = old_keys_hi[j];
+				values[i] = old_values[j];
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package puzzle;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Writes the same human-oriented report the solver has always printed, but through a buffer that is
+ * only flushed at the end or when it is full.
+ */
+public class TextResultWriter implements ResultWriter {
+	private final PrintStream out;
+
+	/**
+	 * @param out The stream to write to.
+	 */
+	TextResultWriter(OutputStream out) {
+		this.out = new PrintStream(new BufferedOutputStream(out, 1 << 16), false);
+	}
+
+	@Override
+	public void command(Command command) {
+		out.println("READING command: " + command.text);
+	}
+
+	@Override
+	public void message(String message) {
+		out.println(message);
+	}
+
+	@Override
+	public void state(Command command, Board board) {
+		out.println("\t" + "PRINTING STATE = " + Arrays.deepToString(board.to_array()));
+	}
+
+	@Override
+	public void result(Command command, SearchResult result) {
+		result.print(out);
+	}
+
+	@Override
+	public void cache(Command command, SolutionCache cache) {
+		out.println("\t" + "CACHE SIZE: " + cache.size() + ", HITS: " + cache.get_hits() + ", MISSES: " + cache.get_misses()
+				+ ", HIT RATE: " + cache.hit_rate() + ", EVICTIONS: " + cache.get_evictions());
+	}
+
+	@Override
+	public void service(Command command, SolverService service) {
+		out.println("\t" + "CONNECTIONS: " + service.get_connections() + ", SERVED: " + service.get_served() + ", BATCHES: "
+				+ service.get_batches() + ", MEAN QUEUE WAIT: " + service.get_mean_queue_wait() + " NS, MAX QUEUE WAIT: "
+				+ service.get_max_queue_wait() + " NS, MEAN SOLVE TIME: " + service.get_mean_solve_time() + " NS");
+	}
+
+	@Override
+	public void error(Command command, String error) {
+		out.println("\t" + error);
+	}
+
+	@Override
+	public void flush() {
+		out.flush();
+	}
+
+	@Override
+	public void close() {
+		out.close();
+	}
+}
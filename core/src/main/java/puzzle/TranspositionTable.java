@@ -0,0 +1,56 @@
+package puzzle;
+
+/**
+ * A fixed-size, direct-mapped table of the lowest g(n) each state was reached with in the current
+ * iteration of IDA-star. Reaching a state again with an equal or higher g(n) in the same iteration
+ * can be pruned, since the earlier visit searched below it with at least as much budget left.
+ * Collisions simply overwrite, so the table only ever prunes less, never wrongly.
+ */
+public class TranspositionTable {
+	private final long[] keys;
+	private final long[] keys_hi;
+	private final int[] depths;
+	private final int[] iterations;
+	private final int mask;
+
+	/**
+	 * This constructor allocates the table, rounding the size up to a power of two.
+	 * 
+	 * @param entries The number of entries.
+	 */
+	TranspositionTable(int entries) {
+		int size = Integer.highestOneBit(Math.max(1, entries - 1)) << 1;
+		keys = new long[size];
+		keys_hi = new long[size];
+		depths = new int[size];
+		iterations = new int[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * This method records a visit and decides whether it can be pruned.
+	 * 
+	 * @param state The low word of the packed state.
+	 * @param state_hi The high word of the packed state.
+	 * @param g The cost the state was reached with.
+	 * @param iteration The number of the current IDA-star iteration, starting at 1.
+	 * 
+	 * @return True if the state was already reached in this iteration with a cost of at most g.
+	 */
+	boolean visit(long state, long state_hi, int g, int iteration) {
+		long h = (state ^ (state_hi * 0x9E3779B97F4A7C15L)) * 0xFF51AFD7ED558CCDL;
+		int i = (int) (h >>> 32) & mask;
+		if (iterations[i] == iteration && keys[i] == state && keys_hi[i] == state_hi) {
+			if (depths[i] <= g) {
+				return true;
+			}
+			depths[i] = g;
+			return false;
+		}
+		keys[i] = state;
+		keys_hi[i] = state_hi;
+		depths[i] = g;
+		iterations[i] = iteration;
+		return false;
+	}
+}
@@ -0,0 +1,202 @@
+package puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The walking distance heuristic. Looking only at rows, a board is reduced to a table counting, for each
+ * row, how many of its tiles belong in each goal row, plus the row of the blank. A vertical move carries
+ * one tile from a row next to the blank into the blank's row, so the vertical walking distance is the
+ * fewest such moves that turn the table into the goal table. Columns work the same way with horizontal
+ * moves, and since each move is either vertical or horizontal the two distances add up admissibly.
+ * 
+ * The goal has tile i in cell i and the blank in cell 0, so the column tables of a board are the row
+ * tables of its transpose and one table of distances serves both. It is generated on first use by a
+ * breadth-first search from the goal table, along with the table each move leads to, so a Board keeps
+ * the index of its two tables and updates them with one lookup per move.
+ */
+public class WalkingDistance {
+	private static final WalkingDistance[] instances = new WalkingDistance[Geometry.max_dim + 1];
+
+	private final int dim;
+	// bits per count in a key, enough for counts up to dim
+	private final int bits;
+	private final Map<Long, Integer> index = new HashMap<Long, Integer>();
+	private final byte[] distances;
+	// next[(table * 2 + direction) * dim + k] is the table reached when the blank moves up (0) or down (1)
+	// and the tile it swaps with belongs in goal row k, or -1 if there is no such tile
+	private final int[] next;
+
+	/**
+	 * This constructor generates the tables of a dimension.
+	 * 
+	 * @param dim The number of rows and columns.
+	 */
+	private WalkingDistance(int dim) {
+		this.dim = dim;
+		this.bits = 32 - Integer.numberOfLeadingZeros(dim);
+		List<Long> keys = new ArrayList<Long>();
+		List<Integer> levels = new ArrayList<Integer>();
+		int[][] goal = new int[dim][dim];
+		for (int row = 0; row < dim; row++) {
+			goal[row][row] = row == 0 ? dim - 1 : dim;
+		}
+		long start = key(goal, 0);
+		index.put(start, 0);
+		keys.add(start);
+		levels.add(0);
+		List<int[]> moves = new ArrayList<int[]>();
+		for (int head = 0; head < keys.size(); head++) {
+			long key = keys.get(head);
+			int[][] counts = counts(key);
+			int blank = blank(key);
+			int[] edges = new int[2 * dim];
+			Arrays.fill(edges, -1);
+			for (int direction = 0; direction < 2; direction++) {
+				int from = direction == 0 ? blank - 1 : blank + 1;
+				if (from < 0 || from >= dim) {
+					continue;
+				}
+				for (int k = 0; k < dim; k++) {
+					if (counts[from][k] == 0) {
+						continue;
+					}
+					counts[from][k]--;
+					counts[blank][k]++;
+					long child = key(counts, from);
+					counts[from][k]++;
+					counts[blank][k]--;
+					Integer known = index.get(child);
+					if (known == null) {
+						known = keys.size();
+						index.put(child, known);
+						keys.add(child);
+						levels.add(levels.get(head) + 1);
+					}
+					edges[direction * dim + k] = known;
+				}
+			}
+			moves.add(edges);
+		}
+		this.distances = new byte[keys.size()];
+		this.next = new int[keys.size() * 2 * dim];
+		for (int i = 0; i < keys.size(); i++) {
+			distances[i] = (byte) (int) levels.get(i);
+			System.arraycopy(moves.get(i), 0, next, i * 2 * dim, 2 * dim);
+		}
+	}
+
+	/**
+	 * This method gets the shared walking distance tables of a dimension, generating them on first use.
+	 * 
+	 * @param dim The number of rows and columns, up to 4.
+	 * 
+	 * @return The walking distance tables.
+	 */
+	static synchronized WalkingDistance get(int dim) {
+		if (dim > 4) {
+			throw new IllegalArgumentException("WALKING DISTANCE ONLY SUPPORTS BOARDS UP TO 4x4");
+		}
+		if (instances[dim] == null) {
+			instances[dim] = new WalkingDistance(dim);
+			Geometry.of(dim).walking_distance = instances[dim];
+		}
+		return instances[dim];
+	}
+
+	/**
+	 * This method finds the table of a packed state, by rows or by columns.
+	 * 
+	 * @param geometry The geometry of the state.
+	 * @param lo The low word of the state.
+	 * @param hi The high word of the state.
+	 * @param rows Whether to count rows or columns.
+	 * 
+	 * @return The index of the table.
+	 */
+	int table(Geometry geometry, long lo, long hi, boolean rows) {
+		int[][] counts = new int[dim][dim];
+		int blank = 0;
+		for (int cell = 0; cell < geometry.cells; cell++) {
+			int tile = geometry.tile(lo, hi, cell);
+			int line = rows ? cell / dim : cell % dim;
+			if (tile == 0) {
+				blank = line;
+			} else {
+				counts[line][rows ? tile / dim : tile % dim]++;
+			}
+		}
+		return index.get(key(counts, blank));
+	}
+
+	/**
+	 * This method gets the walking distance of a table.
+	 * 
+	 * @param table The index of the table.
+	 * 
+	 * @return The number of moves along its rows or columns.
+	 */
+	int distance(int table) {
+		return distances[table];
+	}
+
+	/**
+	 * This method follows a move of the blank tile along the rows or columns of a table.
+	 * 
+	 * @param table The index of the table.
+	 * @param direction 0 if the blank moves up or left, 1 if it moves down or right.
+	 * @param goal_line The goal row or column of the tile the blank swaps with.
+	 * 
+	 * @return The index of the table after the move.
+	 */
+	int move(int table, int direction, int goal_line) {
+		return next[(table * 2 + direction) * dim + goal_line];
+	}
+
+	/**
+	 * This method packs a table and the line of the blank into a key.
+	 */
+	private long key(int[][] counts, int blank) {
+		long key = blank;
+		for (int line = 0; line < dim; line++) {
+			for (int k = 0; k < dim; k++) {
+				key = (key << bits) | counts[line][k];
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * This method unpacks the counts of a key.
+	 */
+	private int[][] counts(long key) {
+		int[][] counts = new int[dim][dim];
+		long mask = (1L << bits) - 1;
+		for (int line = dim - 1; line >= 0; line--) {
+			for (int k = dim - 1; k >= 0; k--) {
+				counts[line][k] = (int) (key & mask);
+				key >>>= bits;
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * This method unpacks the line of the blank of a key.
+	 */
+	private int blank(long key) {
+		return (int) (key >>> (bits * dim * dim));
+	}
+
+	/**
+	 * This method gets the number of tables.
+	 * 
+	 * @return The number of tables reachable from the goal.
+	 */
+	int size() {
+		return distances.length;
+	}
+}